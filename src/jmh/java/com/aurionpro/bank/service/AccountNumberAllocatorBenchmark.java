@@ -0,0 +1,93 @@
+package com.aurionpro.bank.service;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.aurionpro.bank.entity.AccountNumberBlock;
+import com.aurionpro.bank.repo.AccountNumberBlockRepo;
+
+// Account number generation at the configured block size. The block table is kept in memory, so this
+// measures the in-process cost per number, with a reservation amortised over each block. A run issues
+// far more numbers than one prefix holds, so the in-memory table starts over once its serials run out.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountNumberAllocatorBenchmark {
+
+    private static final long BANK_ID = 1;
+
+    private AccountNumberAllocator allocator;
+
+    @Setup
+    public void setUp() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        int blockSize = Integer.parseInt(properties.getProperty("app.account-number.block-size", "100"));
+        allocator = new AccountNumberAllocator(inMemoryBlockRepo(blockSize), new NoOpTransactionManager(), blockSize);
+    }
+
+    @Benchmark
+    public String nextAccountNumber() {
+        return allocator.nextAccountNumber(BANK_ID);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String nextAccountNumberContended() {
+        return allocator.nextAccountNumber(BANK_ID);
+    }
+
+    private static AccountNumberBlockRepo inMemoryBlockRepo(int blockSize) {
+        AccountNumberBlock row = new AccountNumberBlock(AccountNumberAllocator.prefixFor(BANK_ID), 0);
+        return (AccountNumberBlockRepo) Proxy.newProxyInstance(AccountNumberBlockRepo.class.getClassLoader(),
+                new Class<?>[] { AccountNumberBlockRepo.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "findForUpdate" -> {
+                        if (row.getNextHi() * blockSize > AccountNumberAllocator.MAX_SERIAL) {
+                            row.setNextHi(0);
+                        }
+                        yield Optional.of(row);
+                    }
+                    case "saveAndFlush" -> args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.aurionpro.bank.service;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import jakarta.mail.internet.MimeMessage;
+
+// Builds the notification bodies; the sender only keeps the message, so no SMTP time is included
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailServiceImplBenchmark {
+
+    private RecordingMailSender mailSender;
+    private MailServiceImpl mailService;
+
+    @Setup
+    public void setUp() {
+        mailSender = new RecordingMailSender();
+        mailService = new MailServiceImpl(mailSender);
+    }
+
+    @Benchmark
+    public SimpleMailMessage transactionNotification() {
+        mailService.sendTransactionNotification("customer@example.com", "TRANSFER", 2500.75, 10234.10, "001000000018");
+        return mailSender.lastMessage;
+    }
+
+    @Benchmark
+    public SimpleMailMessage accountCreationEmail() {
+        mailService.sendAccountCreationEmail("customer@example.com", "Asha Patil", "First name followed by @123",
+                "001000000018", 5000);
+        return mailSender.lastMessage;
+    }
+
+    private static final class RecordingMailSender implements JavaMailSender {
+
+        private SimpleMailMessage lastMessage;
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) {
+            lastMessage = simpleMessages[simpleMessages.length - 1];
+        }
+
+        @Override
+        public MimeMessage createMimeMessage() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MimeMessage createMimeMessage(InputStream contentStream) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
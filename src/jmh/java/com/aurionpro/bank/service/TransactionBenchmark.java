@@ -0,0 +1,78 @@
+package com.aurionpro.bank.service;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aurionpro.bank.dto.TransactionDto;
+import com.aurionpro.bank.entity.Account;
+import com.aurionpro.bank.entity.Transaction;
+import com.aurionpro.bank.enums.TransactionType;
+
+// The transaction listings map a page of entities to DTOs, and the statement email turns up to 100 into CSV
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionBenchmark {
+
+    @Param({ "10", "100" })
+    private int transactions;
+
+    private List<Transaction> page;
+
+    @Setup
+    public void setUp() {
+        Account sender = account(1L, "001000000018");
+        Account receiver = account(2L, "001000000026");
+        TransactionType[] types = TransactionType.values();
+        LocalDateTime now = LocalDateTime.now();
+
+        page = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setTransactionId(1_000_000L + i);
+            transaction.setTransactionDate(now.minusMinutes(i));
+            transaction.setTransactionType(types[i % types.length]);
+            transaction.setTransactionAmount(100 + i * 12.5);
+            transaction.setSenderAccount(sender);
+            // Credits and debits have no receiver
+            transaction.setReceiverAccount(transaction.getTransactionType() == TransactionType.TRANSFER ? receiver : null);
+            page.add(transaction);
+        }
+    }
+
+    private static Account account(long accountId, String accountNumber) {
+        Account account = new Account();
+        account.setAccountId(accountId);
+        account.setAccountNumber(accountNumber);
+        return account;
+    }
+
+    @Benchmark
+    public ByteArrayInputStream createCsv() {
+        return CustomerServiceImpl.createCsv(page);
+    }
+
+    @Benchmark
+    public List<TransactionDto> mapToDto() {
+        return page.stream().map(TransactionMapper::toDto).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,86 @@
+package com.aurionpro.bank.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.aurionpro.bank.logging.MdcTaskDecorator;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${app.document-upload.pool-size:4}")
+    private int documentUploadPoolSize;
+
+    @Value("${app.document-upload.queue-capacity:200}")
+    private int documentUploadQueueCapacity;
+
+    @Value("${app.customer-import.concurrency:1}")
+    private int customerImportConcurrency;
+
+    @Value("${app.mail.pool-size:2}")
+    private int mailPoolSize;
+
+    @Value("${app.mail.queue-capacity:10000}")
+    private int mailQueueCapacity;
+
+    @Bean(name = "documentUploadExecutor")
+    public Executor documentUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(documentUploadPoolSize);
+        executor.setMaxPoolSize(documentUploadPoolSize);
+        executor.setQueueCapacity(documentUploadQueueCapacity);
+        executor.setThreadNamePrefix("document-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "customerImportExecutor")
+    public Executor customerImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(customerImportConcurrency);
+        executor.setMaxPoolSize(customerImportConcurrency);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("customer-import-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    // BCrypt is CPU bound, so hashing gets one thread per core
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cores);
+        executor.setMaxPoolSize(cores);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    // When the mail queue is full the submitting thread sends the mail itself, which throttles bulk producers
+    @Bean(name = "mailExecutor")
+    public Executor mailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailPoolSize);
+        executor.setMaxPoolSize(mailPoolSize);
+        executor.setQueueCapacity(mailQueueCapacity);
+        executor.setThreadNamePrefix("mail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+}
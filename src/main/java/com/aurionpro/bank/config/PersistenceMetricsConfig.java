@@ -0,0 +1,51 @@
+package com.aurionpro.bank.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import com.aurionpro.bank.metrics.InstrumentedDataSource;
+import com.aurionpro.bank.metrics.PersistenceMetrics;
+import com.aurionpro.bank.metrics.RepositoryMetricsInterceptor;
+
+// Hooks the persistence metrics into the pool and the repositories. Turning the property off
+// leaves both untouched; Hibernate statistics are switched separately with hibernate.generate_statistics.
+@Configuration
+@ConditionalOnProperty(name = "app.persistence-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class PersistenceMetricsConfig {
+
+    // Static so the post-processors don't pull this configuration class in early
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<PersistenceMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, metrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Added first in the advice chain, so the timing includes the repository's own transaction commit
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<PersistenceMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, new RepositoryMetricsInterceptor(
+                                    metrics.getObject(), repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
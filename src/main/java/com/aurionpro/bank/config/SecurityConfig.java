@@ -51,6 +51,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/register").permitAll()
                 .requestMatchers("/api/auth/login").permitAll()
                 .requestMatchers("/api/customers/login").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/auth/captcha", "/api/customers/captcha").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/admin/customer").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/admin/account").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/admin/customers").hasRole("ADMIN")
@@ -1,10 +1,17 @@
 package com.aurionpro.bank.controller;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.Principal;
 import java.util.List;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,20 +22,50 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.aurionpro.bank.dto.AccountDto;
+import com.aurionpro.bank.dto.AccountNumberCapacity;
+import com.aurionpro.bank.dto.BulkAccountStatusRequest;
+import com.aurionpro.bank.dto.BulkStatusResult;
+import com.aurionpro.bank.dto.CaptchaPoolStats;
 import com.aurionpro.bank.dto.CustomerDto;
+import com.aurionpro.bank.dto.CustomerSearchResult;
+import com.aurionpro.bank.dto.CustomerSummaryDto;
+import com.aurionpro.bank.dto.DocumentCacheStats;
+import com.aurionpro.bank.dto.DocumentDedupStats;
+import com.aurionpro.bank.dto.EndpointLatencyReport;
+import com.aurionpro.bank.dto.ImportJobStatus;
+import com.aurionpro.bank.dto.KeysetPage;
+import com.aurionpro.bank.dto.KycVerdictDto;
+import com.aurionpro.bank.dto.KycVerdictResult;
+import com.aurionpro.bank.dto.LoggingStats;
 import com.aurionpro.bank.dto.PageResponse;
+import com.aurionpro.bank.dto.PersistenceMetricsReport;
+import com.aurionpro.bank.dto.RecordingStatus;
+import com.aurionpro.bank.dto.SearchIndexStats;
 import com.aurionpro.bank.dto.TransactionDto;
 import com.aurionpro.bank.entity.Bank;
-import com.aurionpro.bank.entity.Customer;
 import com.aurionpro.bank.entity.Document;
+import com.aurionpro.bank.enums.CustomerSortField;
 import com.aurionpro.bank.enums.KycStatus;
 import com.aurionpro.bank.exception.CustomerServiceException;
+import com.aurionpro.bank.metrics.EndpointMetricsFilter;
+import com.aurionpro.bank.metrics.SqlBudget;
 import com.aurionpro.bank.service.AdminService;
+import com.aurionpro.bank.service.CaptchaService;
+import com.aurionpro.bank.service.CustomerImportService;
+import com.aurionpro.bank.service.CustomerSearchService;
+import com.aurionpro.bank.service.DocumentService;
+import com.aurionpro.bank.service.FlightRecordingService;
+import com.aurionpro.bank.service.KycReviewService;
+import com.aurionpro.bank.service.MetricsService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -37,18 +74,60 @@ import lombok.RequiredArgsConstructor;
 public class AdminController {
 
     private final AdminService adminService;
+    private final CaptchaService captchaService;
+    private final DocumentService documentService;
+    private final KycReviewService kycReviewService;
+    private final CustomerImportService customerImportService;
+    private final CustomerSearchService customerSearchService;
+    private final MetricsService metricsService;
+    private final FlightRecordingService flightRecordingService;
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/customer")
     @Transactional
+    @SqlBudget(statements = 10, rows = 50)
     public ResponseEntity<String> addCustomer(@Valid @RequestBody CustomerDto customerDto) {
         String response = adminService.addCustomer(customerDto);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/customers/search")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<List<CustomerSearchResult>> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(customerSearchService.searchCustomers(q, limit));
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/customers/search/stats")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<SearchIndexStats> getSearchIndexStats() {
+        return ResponseEntity.ok(customerSearchService.getIndexStats());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/customers/import")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<ImportJobStatus> importCustomers(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "csv") String format) {
+        ImportJobStatus status = customerImportService.startImport(file, format);
+        return new ResponseEntity<>(status, HttpStatus.ACCEPTED);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/customers/import/{jobId}")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<ImportJobStatus> getImportStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(customerImportService.getImportStatus(jobId));
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/account")
     @Transactional
+    @SqlBudget(statements = 12, rows = 50)
     public ResponseEntity<String> addAccount(@Valid @RequestBody AccountDto accountDto) {
         String response = adminService.addAccount(accountDto);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
@@ -56,16 +135,19 @@ public class AdminController {
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/customers")
-    public ResponseEntity<PageResponse<Customer>> viewCustomers(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        PageResponse<Customer> customers = adminService.viewCustomers(pageable);
+    @SqlBudget(statements = 5, rows = 500)
+    public ResponseEntity<KeysetPage<CustomerSummaryDto>> viewCustomers(
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "ID") CustomerSortField sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor) {
+        KeysetPage<CustomerSummaryDto> customers = adminService.viewCustomers(sort, direction, cursor, size);
         return new ResponseEntity<>(customers, HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/transactions")
+    @SqlBudget(statements = 4, rows = 500)
     public ResponseEntity<PageResponse<TransactionDto>> getAllTransactions(Pageable pageable) {
         PageResponse<TransactionDto> response = adminService.viewAllTransactions(pageable);
         return new ResponseEntity<>(response, HttpStatus.OK);
@@ -73,6 +155,7 @@ public class AdminController {
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/bank")
+    @SqlBudget(statements = 5, rows = 20)
     public ResponseEntity<String> addBank(@Valid @RequestBody Bank bank) {
         String response = adminService.addBank(bank);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
@@ -80,13 +163,33 @@ public class AdminController {
     
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @DeleteMapping("/customer/{customerId}")
+    @SqlBudget(statements = 5, rows = 50)
     public ResponseEntity<String> deleteCustomer(@PathVariable int customerId) {
         String response = adminService.deleteCustomer(customerId);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/accounts/status")
+    // One UPDATE per app.bulk-status.chunk-size accounts, capped by the service, plus the authentication lookups;
+    // rows are unbounded
+    @SqlBudget(statements = AdminService.MAX_BULK_STATUS_STATEMENTS + 3)
+    public ResponseEntity<BulkStatusResult> updateAccountStatus(@Valid @RequestBody BulkAccountStatusRequest request) {
+        BulkStatusResult result = adminService.updateAccountStatus(request);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/accounts/number-capacity")
+    // One row per prefix, at most 100
+    @SqlBudget(statements = 4, rows = 120)
+    public ResponseEntity<List<AccountNumberCapacity>> getAccountNumberCapacity() {
+        return ResponseEntity.ok(adminService.getAccountNumberCapacity());
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/verifyDocument")
+    @SqlBudget(statements = 8, rows = 50)
     public ResponseEntity<String> verifyDocument(
             @RequestParam Long documentId,
             @RequestParam KycStatus kycStatus) {
@@ -97,12 +200,117 @@ public class AdminController {
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/customer/{customerId}")
+    @SqlBudget(statements = 6, rows = 500)
     public ResponseEntity<List<Document>> getDocumentsByCustomerId(@PathVariable int customerId) {
         try {
             List<Document> documents = adminService.getDocumentsByCustomerId(customerId);
             return ResponseEntity.ok(documents);
         } catch (CustomerServiceException e) {
+            EndpointMetricsFilter.recordHandledFailure(e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
     }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/metrics/persistence")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<PersistenceMetricsReport> getPersistenceMetrics() {
+        return ResponseEntity.ok(metricsService.getPersistenceMetrics());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/metrics/endpoints")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<EndpointLatencyReport> getEndpointLatency() {
+        return ResponseEntity.ok(metricsService.getEndpointLatency());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/metrics/logging")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<LoggingStats> getLoggingStats() {
+        return ResponseEntity.ok(metricsService.getLoggingStats());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/jfr")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<RecordingStatus> getRecordingStatus() {
+        return ResponseEntity.ok(flightRecordingService.getStatus());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/jfr/start")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<RecordingStatus> startRecording(@RequestParam(required = false) String settings) {
+        return ResponseEntity.ok(flightRecordingService.startRecording(settings));
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/jfr/stop")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<RecordingStatus> stopRecording() {
+        return ResponseEntity.ok(flightRecordingService.stopRecording());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/jfr/dump")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<Resource> dumpRecording() {
+        Path dump = flightRecordingService.dumpRecording();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + dump.getFileName() + "\"")
+                .body(new FileSystemResource(dump));
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/captcha/pool")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<CaptchaPoolStats> getCaptchaPoolStats() {
+        return ResponseEntity.ok(captchaService.getPoolStats());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/documents/{documentId}/content")
+    @SqlBudget(statements = 5, rows = 20)
+    public void getDocumentContent(@PathVariable Long documentId,
+            @RequestParam(defaultValue = "false") boolean thumbnail,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        documentService.writeDocumentContent(documentId, thumbnail, request, response);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/documents/dedup-stats")
+    @SqlBudget(statements = 4, rows = 20)
+    public ResponseEntity<DocumentDedupStats> getDocumentDedupStats() {
+        return ResponseEntity.ok(documentService.getDedupStats());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/documents/cache-stats")
+    @SqlBudget(statements = 3, rows = 20)
+    public ResponseEntity<DocumentCacheStats> getDocumentCacheStats() {
+        return ResponseEntity.ok(documentService.getCacheStats());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/kyc/claim")
+    @SqlBudget(statements = 5, rows = 200)
+    public ResponseEntity<List<Document>> claimKycDocuments(
+            @RequestParam(defaultValue = "10") int count, Principal principal) {
+        List<Document> documents = kycReviewService.claimNextDocuments(principal.getName(), count);
+        return ResponseEntity.ok(documents);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/kyc/verdicts")
+    @SqlBudget(statements = 4, rows = 200)
+    public ResponseEntity<KycVerdictResult> submitKycVerdicts(
+            @Valid @RequestBody @Size(min = 1, max = KycReviewService.MAX_VERDICTS,
+                    message = "Between 1 and " + KycReviewService.MAX_VERDICTS + " verdicts per request") List<KycVerdictDto> verdicts,
+            Principal principal) {
+        KycVerdictResult result = kycReviewService.submitVerdicts(principal.getName(), verdicts);
+        return ResponseEntity.ok(result);
+    }
 }
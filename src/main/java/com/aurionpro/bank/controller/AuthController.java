@@ -30,17 +30,17 @@
 //}
 package com.aurionpro.bank.controller;
 
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.OutputStream;
 
-import javax.imageio.ImageIO;
-
+import com.aurionpro.bank.dto.CaptchaImage;
 import com.aurionpro.bank.dto.JwtAuthResponse;
 import com.aurionpro.bank.dto.LoginDto;
 import com.aurionpro.bank.dto.UserDto;
+import com.aurionpro.bank.metrics.SqlBudget;
+import com.aurionpro.bank.security.CaptchaTokenProvider;
 import com.aurionpro.bank.service.AuthService;
-import jakarta.servlet.http.HttpServletRequest;
+import com.aurionpro.bank.service.CaptchaService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,8 +48,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import com.google.code.kaptcha.impl.DefaultKaptcha;
-
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -58,35 +56,36 @@ public class AuthController {
     private final AuthService authService;
 
     @Autowired
-    private DefaultKaptcha defaultKaptcha;
+    private CaptchaService captchaService;
+
+    @Autowired
+    private CaptchaTokenProvider captchaTokenProvider;
 
     @PostMapping("/register")
+    @SqlBudget(statements = 6, rows = 20)
     public ResponseEntity<String> registerAdmin(@RequestBody UserDto userDto) {
         String response = authService.registerAdmin(userDto);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     @GetMapping("/captcha")
-    public void getCaptcha(HttpServletResponse response, HttpServletRequest request) throws IOException {
-        String text = defaultKaptcha.createText();
-        BufferedImage image = defaultKaptcha.createImage(text);
-
-        request.getSession().setAttribute("captcha", text);
+    @SqlBudget(statements = 3, rows = 20)
+    public void getCaptcha(HttpServletResponse response) throws IOException {
+        // Served from the pre-rendered pool, so this is only a byte copy
+        CaptchaImage captcha = captchaService.nextCaptcha();
 
+        response.setHeader("X-Captcha-Token", captchaTokenProvider.generateToken(captcha.getAnswer()));
         response.setContentType("image/jpeg");
+        response.setContentLength(captcha.getImage().length);
         OutputStream outputStream = response.getOutputStream();
-        ImageIO.write(image, "jpg", outputStream);
+        outputStream.write(captcha.getImage());
         outputStream.close();
     }
 
-    public boolean verifyCaptcha(HttpServletRequest request, String captcha) {
-        String captchaSession = (String) request.getSession().getAttribute("captcha");
-        return captcha.equals(captchaSession);
-    }
-
     @PostMapping("/login")
-    public ResponseEntity<JwtAuthResponse> login(@RequestBody LoginDto loginDto, HttpServletRequest request) {
-        if (!verifyCaptcha(request, loginDto.getCaptcha())) {
+    @SqlBudget(statements = 6, rows = 20)
+    public ResponseEntity<JwtAuthResponse> login(@RequestBody LoginDto loginDto) {
+        if (!captchaTokenProvider.validateToken(loginDto.getCaptchaToken(), loginDto.getCaptcha())) {
             throw new IllegalArgumentException("Invalid CAPTCHA");
         }
 
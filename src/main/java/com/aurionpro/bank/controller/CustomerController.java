@@ -1,11 +1,8 @@
 package com.aurionpro.bank.controller;
 
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.OutputStream;
 
-import javax.imageio.ImageIO;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,24 +13,33 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.aurionpro.bank.dto.CaptchaImage;
 import com.aurionpro.bank.dto.CustomerProfileUpdateDTO;
 import com.aurionpro.bank.dto.JwtAuthResponse;
 import com.aurionpro.bank.dto.LoginDto;
 import com.aurionpro.bank.dto.PageResponse;
 import com.aurionpro.bank.dto.TransactionDto;
+import com.aurionpro.bank.dto.UploadSessionDto;
 import com.aurionpro.bank.enums.DocumentType;
 import com.aurionpro.bank.exception.CustomerServiceException;
+import com.aurionpro.bank.metrics.EndpointMetricsFilter;
+import com.aurionpro.bank.metrics.SqlBudget;
+import com.aurionpro.bank.security.CaptchaTokenProvider;
+import com.aurionpro.bank.security.CustomerContext;
 import com.aurionpro.bank.security.JwtTokenProvider;
+import com.aurionpro.bank.service.CaptchaService;
+import com.aurionpro.bank.service.ChunkedUploadService;
 import com.aurionpro.bank.service.CustomerService;
-import com.google.code.kaptcha.impl.DefaultKaptcha;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -44,39 +50,45 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/customers")
 public class CustomerController {
     @Autowired
-    private DefaultKaptcha defaultKaptcha;
+    private CaptchaService captchaService;
 
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
     @Autowired
     private AuthenticationManager authenticationManager;
 
     @Autowired
     private JwtTokenProvider tokenProvider;
 
-    @GetMapping("/captcha")
-    public void getCaptcha(HttpServletResponse response, HttpServletRequest request) throws IOException {
-        String captchaText = defaultKaptcha.createText();
-        BufferedImage captchaImage = defaultKaptcha.createImage(captchaText);
+    @Autowired
+    private CaptchaTokenProvider captchaTokenProvider;
 
-        request.getSession().setAttribute("captcha", captchaText);
+    @Autowired
+    private CustomerContext customerContext;
 
+    @GetMapping("/captcha")
+    @SqlBudget(statements = 3, rows = 20)
+    public void getCaptcha(HttpServletResponse response) throws IOException {
+        // Served from the pre-rendered pool, so this is only a byte copy
+        CaptchaImage captcha = captchaService.nextCaptcha();
+
+        response.setHeader("X-Captcha-Token", captchaTokenProvider.generateToken(captcha.getAnswer()));
         response.setContentType("image/jpeg");
+        response.setContentLength(captcha.getImage().length);
         OutputStream outputStream = response.getOutputStream();
-        ImageIO.write(captchaImage, "jpg", outputStream);
+        outputStream.write(captcha.getImage());
         outputStream.close();
     }
 
-    public boolean verifyCaptcha(HttpServletRequest request, String captcha) {
-        String captchaSession = (String) request.getSession().getAttribute("captcha");
-        return captcha != null && captcha.equals(captchaSession);
-    }
-
     @PostMapping("/login")
-    public ResponseEntity<JwtAuthResponse> authenticateCustomer(@Valid @RequestBody LoginDto loginDto, HttpServletRequest request) {
+    @SqlBudget(statements = 6, rows = 20)
+    public ResponseEntity<JwtAuthResponse> authenticateCustomer(@Valid @RequestBody LoginDto loginDto) {
 
-        if (!verifyCaptcha(request, loginDto.getCaptcha())) {
+        if (!captchaTokenProvider.validateToken(loginDto.getCaptchaToken(), loginDto.getCaptcha())) {
             throw new IllegalArgumentException("Invalid CAPTCHA");
         }
 
@@ -92,11 +104,14 @@ public class CustomerController {
 
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
     @PutMapping("/updateProfile")
-    public ResponseEntity<String> updateCustomerProfile(@RequestParam String username, @Validated @RequestBody CustomerProfileUpdateDTO profileUpdateDTO) {
+    @SqlBudget(statements = 8, rows = 50)
+    public ResponseEntity<String> updateCustomerProfile(@RequestParam(required = false) String username, @Validated @RequestBody CustomerProfileUpdateDTO profileUpdateDTO) {
+    	customerContext.checkUsername(username);
     	try {
-    		customerService.updateCustomerProfile(username, profileUpdateDTO);
+    		customerService.updateCustomerProfile(profileUpdateDTO);
     		return ResponseEntity.ok("Customer profile updated successfully");
     	} catch (CustomerServiceException e) {
+    		EndpointMetricsFilter.recordHandledFailure(e);
     		return ResponseEntity.badRequest().body(e.getMessage());
     	}
     }
@@ -105,50 +120,104 @@ public class CustomerController {
     @PostMapping("/transactions")
     @PreAuthorize("hasRole('CUSTOMER')")
     @Transactional
+    @SqlBudget(statements = 20, rows = 50)
     public ResponseEntity<String> performTransaction(@Valid
-            @RequestParam String username,
+            @RequestParam(required = false) String username,
             @RequestBody TransactionDto transactionDto) {
+        customerContext.checkUsername(username);
         try {
-            customerService.performTransaction(username, transactionDto);
+            customerService.performTransaction(transactionDto);
             return ResponseEntity.ok("Transaction completed successfully!");
         } catch (CustomerServiceException e) {
+            EndpointMetricsFilter.recordHandledFailure(e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
 	@GetMapping("/transactions")
 	@PreAuthorize("hasRole('CUSTOMER')")
+	@SqlBudget(statements = 5, rows = 500)
 	public ResponseEntity<PageResponse<TransactionDto>> getTransactionsByCustomer(
-	        @Valid @RequestParam String username,
+	        @RequestParam(required = false) String username,
 	        @RequestParam(defaultValue = "0") int page,
 	        @RequestParam(defaultValue = "10") int size) {
+	    customerContext.checkUsername(username);
 	    try {
-	        PageResponse<TransactionDto> transactions = customerService.getTransactionsByCustomer(username, page, size);
+	        PageResponse<TransactionDto> transactions = customerService.getTransactionsByCustomer(page, size);
 	        return ResponseEntity.ok(transactions);
 	    } catch (CustomerServiceException e) {
+	        EndpointMetricsFilter.recordHandledFailure(e);
 	        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
 	    }
 	}
 
     @PreAuthorize("hasRole('CUSTOMER')")
     @PostMapping("/uploadDocument")
+    @SqlBudget(statements = 6, rows = 50)
     public ResponseEntity<String> uploadDocument(
-            @RequestParam Integer customerId,
+            @RequestParam(required = false) Integer customerId,
             @RequestParam("file") MultipartFile file,
             @RequestParam DocumentType documentType) {
 
-        String response = customerService.uploadDocument(customerId, file, documentType);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        customerContext.checkCustomerId(customerId);
+        String response = customerService.uploadDocument(file, documentType);
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+    
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @PostMapping("/uploads")
+    @SqlBudget(statements = 4, rows = 50)
+    public ResponseEntity<UploadSessionDto> initiateUpload(
+            @RequestParam(required = false) Integer customerId,
+            @RequestParam DocumentType documentType,
+            @RequestParam String contentType,
+            @RequestParam long totalSize) {
+
+        customerContext.checkCustomerId(customerId);
+        UploadSessionDto response = chunkedUploadService.initiateUpload(customerContext.getCustomerId(), documentType, contentType, totalSize);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @PutMapping("/uploads/{uploadId}/chunks/{chunkIndex}")
+    @SqlBudget(statements = 4, rows = 50)
+    public ResponseEntity<UploadSessionDto> uploadChunk(
+            @PathVariable String uploadId,
+            @PathVariable int chunkIndex,
+            @RequestHeader("X-Chunk-Checksum") String checksum,
+            HttpServletRequest request) throws IOException {
+
+        // Raw request body, read through a fixed buffer by the service
+        UploadSessionDto response = chunkedUploadService.uploadChunk(uploadId, chunkIndex, checksum, request.getInputStream());
+        return ResponseEntity.ok(response);
+    }
+
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @GetMapping("/uploads/{uploadId}")
+    @SqlBudget(statements = 4, rows = 50)
+    public ResponseEntity<UploadSessionDto> getUploadStatus(@PathVariable String uploadId) {
+        return ResponseEntity.ok(chunkedUploadService.getUploadStatus(uploadId));
+    }
+
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @PostMapping("/uploads/{uploadId}/complete")
+    @SqlBudget(statements = 6, rows = 50)
+    public ResponseEntity<String> completeUpload(@PathVariable String uploadId) {
+        String response = chunkedUploadService.completeUpload(uploadId);
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
     }
     
     @PostMapping("/sendTransactionDetails")
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
+    @SqlBudget(statements = 5, rows = 200)
     public ResponseEntity<String> sendTransactionDetails(
-            @RequestParam String username) {
+            @RequestParam(required = false) String username) {
+        customerContext.checkUsername(username);
         try {
-            customerService.sendTransactionDetailsByEmail(username);
+            customerService.sendTransactionDetailsByEmail();
             return ResponseEntity.ok("Transaction details have been sent to your email.");
         } catch (CustomerServiceException e) {
+            EndpointMetricsFilter.recordHandledFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to send transaction details: " + e.getMessage());
         }
     }
@@ -0,0 +1,16 @@
+package com.aurionpro.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Serials reserved so far for one account number prefix, out of the fixed ceiling per prefix
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountNumberCapacity {
+    private String prefix;
+    private long reservedSerials;
+    private long remainingSerials;
+    private long maxSerials;
+}
@@ -0,0 +1,24 @@
+package com.aurionpro.bank.dto;
+
+import java.util.List;
+
+import com.aurionpro.bank.enums.AccountStatus;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAccountStatusRequest {
+
+    @NotNull(message = "Target status is required")
+    private AccountStatus status;
+
+    // Filters are combined; at least one of them is required
+    private List<Integer> customerIds;
+    private Long bankId;
+    private Double maxBalance;
+}
@@ -0,0 +1,15 @@
+package com.aurionpro.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusResult {
+    private int affectedAccounts;
+    private int statements;
+    // False when the statement cap was reached first; repeating the request continues where this one stopped
+    private boolean complete;
+}
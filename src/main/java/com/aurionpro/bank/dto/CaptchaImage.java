@@ -0,0 +1,11 @@
+package com.aurionpro.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CaptchaImage {
+    private byte[] image;
+    private String answer;
+}
@@ -0,0 +1,18 @@
+package com.aurionpro.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaptchaPoolStats {
+    private int pooled;
+    private int targetSize;
+    private int capacity;
+    private long hits;
+    private long misses;
+    private long rendered;
+    private double demandPerSecond;
+}
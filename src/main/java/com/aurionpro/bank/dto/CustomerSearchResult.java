@@ -0,0 +1,20 @@
+package com.aurionpro.bank.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSearchResult {
+
+    private int customerId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private List<String> accountNumbers;
+    private double score;
+}
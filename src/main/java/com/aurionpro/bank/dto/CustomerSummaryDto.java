@@ -0,0 +1,23 @@
+package com.aurionpro.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSummaryDto {
+
+    private int customerId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private long accountCount;
+    private long documentCount;
+    private long pendingDocuments;
+    private long approvedDocuments;
+    private long rejectedDocuments;
+    // NONE, PENDING, REJECTED or APPROVED, derived from the document counts
+    private String kycStatus;
+}
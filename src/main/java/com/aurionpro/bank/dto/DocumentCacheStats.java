@@ -0,0 +1,15 @@
+package com.aurionpro.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentCacheStats {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long usedBytes;
+}
@@ -0,0 +1,22 @@
+package com.aurionpro.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentDedupStats {
+    private long documents;
+    private long uniqueBlobs;
+    // Stored size (image plus thumbnail) summed over every document referencing a blob
+    private long referencedBytes;
+    // Stored size summed once per distinct blob
+    private long storedBytes;
+    // Saved by deduplication alone: referencedBytes - storedBytes
+    private long bytesSaved;
+    private double dedupRatio;
+    // Saved by image normalization before storing (uploaded size - stored size), reported apart from dedup
+    private long normalizationBytesSaved;
+}
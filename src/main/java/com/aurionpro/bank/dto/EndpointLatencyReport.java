@@ -0,0 +1,20 @@
+package com.aurionpro.bank.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Latencies in microseconds, keyed by "Controller.method" and then by outcome
+@Data
+@NoArgsConstructor
+public class EndpointLatencyReport {
+
+    private LocalDateTime recordingSince;
+    // The last completed interval; null until the first interval closes
+    private LocalDateTime intervalStart;
+    private LocalDateTime intervalEnd;
+    private Map<String, Map<String, HistogramSnapshot>> interval;
+    private Map<String, Map<String, HistogramSnapshot>> cumulative;
+}
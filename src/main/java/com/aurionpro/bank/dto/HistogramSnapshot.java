@@ -0,0 +1,20 @@
+package com.aurionpro.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Percentiles are bucket upper bounds, so they overstate the true value by at most the histogram's precision
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramSnapshot {
+    private long count;
+    private long sum;
+    private double mean;
+    private long p50;
+    private long p95;
+    private long p99;
+    private long p999;
+    private long max;
+}
@@ -0,0 +1,22 @@
+package com.aurionpro.bank.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobStatus {
+    private String jobId;
+    private String state;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private List<ImportRowError> errors;
+}
@@ -0,0 +1,20 @@
+package com.aurionpro.bank.dto;
+
+import com.aurionpro.bank.enums.KycStatus;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KycVerdictDto {
+
+    @NotNull(message = "Document id is required")
+    private Long documentId;
+
+    @NotNull(message = "KYC status is required")
+    private KycStatus kycStatus;
+}
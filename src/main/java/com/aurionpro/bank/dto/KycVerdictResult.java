@@ -0,0 +1,14 @@
+package com.aurionpro.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KycVerdictResult {
+    private int submitted;
+    // Verdicts for documents whose lease expired or is held by someone else are not applied
+    private int applied;
+}
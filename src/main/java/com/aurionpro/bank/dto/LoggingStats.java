@@ -0,0 +1,29 @@
+package com.aurionpro.bank.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoggingStats {
+    private List<Appender> appenders;
+    // Events suppressed by the sampling turbo filter, keyed by logger prefix
+    private Map<String, Long> sampledOut;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Appender {
+        private String name;
+        private int queueDepth;
+        private int queueSize;
+        private long enqueued;
+        private long discardedBelowWarn;
+        private long discardedFull;
+    }
+}
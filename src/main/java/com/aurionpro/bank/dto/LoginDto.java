@@ -16,6 +16,9 @@ public class LoginDto {
     private String password;
     
     private String captcha;
+
+    // Signed challenge returned in the X-Captcha-Token header of the captcha endpoint
+    private String captchaToken;
 }
 
 
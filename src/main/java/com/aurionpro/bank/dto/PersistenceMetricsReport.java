@@ -0,0 +1,36 @@
+package com.aurionpro.bank.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Latencies are in microseconds; all counters are cumulative since startup
+@Data
+@NoArgsConstructor
+public class PersistenceMetricsReport {
+
+    private Map<String, HistogramSnapshot> repositoryMethods;
+    private Map<String, HistogramSnapshot> statements;
+    // Per HTTP endpoint; these are counts, not latencies
+    private Map<String, HistogramSnapshot> requestStatements;
+    private Map<String, HistogramSnapshot> requestRows;
+    private HistogramSnapshot statementsPerTransaction;
+    private HistogramSnapshot connectionWait;
+    private HistogramSnapshot connectionUsage;
+    private ConnectionPool connectionPool;
+    private Map<String, Long> hibernate;
+    private long slowQueries;
+    private List<SlowQueryEntry> recentSlowQueries;
+
+    @Data
+    @NoArgsConstructor
+    public static class ConnectionPool {
+        private int active;
+        private int idle;
+        private int total;
+        private int threadsAwaitingConnection;
+        private int maximumPoolSize;
+    }
+}
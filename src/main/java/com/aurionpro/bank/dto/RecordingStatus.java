@@ -0,0 +1,21 @@
+package com.aurionpro.bank.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class RecordingStatus {
+    private boolean running;
+    private String name;
+    private String settings;
+    private String state;
+    private LocalDateTime startedAt;
+    private long sizeBytes;
+    private long maxAgeSeconds;
+    private long maxSizeBytes;
+    // Where the recording is written when it stops or the JVM exits
+    private String destination;
+}
@@ -0,0 +1,28 @@
+package com.aurionpro.bank.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Size of the customer search index; byte counts are estimates from object layout, not a heap dump
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexStats {
+
+    private boolean ready;
+    private boolean building;
+    private long customers;
+    private long grams;
+    private long postings;
+    private long stalePostings;
+    private long estimatedEntryBytes;
+    private long estimatedPostingBytes;
+    private long estimatedTotalBytes;
+    private long lastBuildMillis;
+    private LocalDateTime lastBuiltAt;
+    // Searches that hit app.customer-search.max-candidates and may have missed better matches
+    private long truncatedSearches;
+}
@@ -0,0 +1,18 @@
+package com.aurionpro.bank.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryEntry {
+    private LocalDateTime executedAt;
+    private long elapsedMillis;
+    private String thread;
+    // Literals are replaced with ?; bind values are never captured
+    private String sql;
+}
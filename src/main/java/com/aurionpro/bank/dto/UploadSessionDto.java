@@ -0,0 +1,20 @@
+package com.aurionpro.bank.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDto {
+    private String uploadId;
+    private long totalSize;
+    private int chunkSize;
+    private int totalChunks;
+    private int receivedChunks;
+    // Inclusive byte ranges already received, e.g. "0-4194303"
+    private List<String> receivedRanges;
+}
@@ -3,18 +3,23 @@ package com.aurionpro.bank.entity;
 import java.util.List;
 
 import com.aurionpro.bank.enums.AccountStatus;
+import com.aurionpro.bank.search.CustomerIndexListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.DecimalMin;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -22,13 +27,22 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Entity
+@EntityListeners(CustomerIndexListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "accounts")
+@Table(name = "accounts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_accounts_account_number", columnNames = "account_number")
+})
 public class Account {
 
+    // Internal key used by every join and foreign key; the account number is only for people
     @Id
-    @Column(name = "account_number", nullable = false, unique = true)
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "account_id")
+    private Long accountId;
+
+    // Assigned once at creation; the search index relies on it never changing
+    @Column(name = "account_number", nullable = false, length = 20, updatable = false)
     private String accountNumber;
 
     @Column(name = "balance", nullable = false)
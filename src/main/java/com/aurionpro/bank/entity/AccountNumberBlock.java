@@ -0,0 +1,25 @@
+package com.aurionpro.bank.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// High-water mark of the account number blocks handed out for one prefix
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "account_number_blocks")
+public class AccountNumberBlock {
+
+    @Id
+    @Column(name = "prefix", length = 3)
+    private String prefix;
+
+    @Column(name = "next_hi", nullable = false)
+    private long nextHi;
+}
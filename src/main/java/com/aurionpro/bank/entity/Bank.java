@@ -2,9 +2,12 @@ package com.aurionpro.bank.entity;
 
 import java.util.List;
 
+import com.aurionpro.bank.reference.ReferenceDataListener;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -15,6 +18,7 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Entity
+@EntityListeners(ReferenceDataListener.class)
 @NoArgsConstructor
 @Table(name = "banks")
 public class Bank {
@@ -3,14 +3,21 @@ package com.aurionpro.bank.entity;
 import java.time.LocalDate;
 import java.util.List;
 
+import com.aurionpro.bank.search.CustomerIndexListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -21,8 +28,11 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Entity
+@EntityListeners(CustomerIndexListener.class)
 @NoArgsConstructor
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_name", columnList = "last_name, first_name, customer_id")
+})
 public class Customer {
 
     @Id
@@ -45,16 +55,15 @@ public class Customer {
     @Pattern(regexp = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$", message = "Email should be valid")
     private String email;
 
-    @Column(name = "password", nullable = false)
-    @NotBlank(message = "Password is mandatory")
-    @Pattern(regexp = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=]).{8,}$", 
-             message = "Password must be at least 8 characters long, contain at least one digit, one lowercase letter, one uppercase letter, and one special character")
-    private String password;
-
     @Column(name = "date_of_birth")
     @Past(message = "Date of birth must be a past date")
     private LocalDate dateOfBirth;
-    
+
+    // Credentials live only on the linked User row, which Spring Security authenticates against
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", unique = true)
+    @JsonIgnore
+    private User user;
 
     @OneToMany(mappedBy = "customer",cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REFRESH, CascadeType.DETACH})
     private List<Account> accounts;
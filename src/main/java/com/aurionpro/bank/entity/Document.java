@@ -1,8 +1,13 @@
 package com.aurionpro.bank.entity;
 
+import java.time.LocalDateTime;
+
 import com.aurionpro.bank.enums.DocumentType;
 import com.aurionpro.bank.enums.KycStatus;
+import com.aurionpro.bank.enums.UploadStatus;
+import com.aurionpro.bank.id.TimeOrderedId;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -13,11 +18,15 @@ import lombok.NoArgsConstructor;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "documents")
+@Table(name = "documents", indexes = {
+        @Index(name = "idx_documents_content_digest", columnList = "content_digest"),
+        @Index(name = "idx_documents_review_queue", columnList = "kyc_status, lease_expires_at"),
+        @Index(name = "idx_documents_customer_kyc", columnList = "customer_id, kyc_status")
+})
 public class Document {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     @Column(name = "document_id")
     private Long documentId;
 
@@ -32,8 +41,46 @@ public class Document {
     @Column(name = "document_url")
     private String documentUrl;
 
+    // Tracks the asynchronous hand-off to the storage backend, independently of the KYC review
+    @Enumerated(EnumType.STRING)
+    @Column(name = "upload_status")
+    private UploadStatus uploadStatus;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    // Size of the blob actually kept by the storage backend, after image normalization
+    @Column(name = "stored_size")
+    private Long storedSize;
+
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "thumbnail_size")
+    private Long thumbnailSize;
+
+    // SHA-256 of the content; documents with the same digest share one stored blob
+    @Column(name = "content_digest", length = 64)
+    private String contentDigest;
+
+    // Review queue lease: the admin currently holding this document and until when
+    @Column(name = "reviewer")
+    private String reviewer;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
     @ManyToOne
     @JoinColumn(name = "customer_id", nullable = false)
     @JsonIgnore
     private Customer customer;
+
+    // Authenticated admin endpoint that serves the content through the document cache
+    @JsonProperty("contentUrl")
+    public String getContentUrl() {
+        return documentId != null ? "/api/admin/documents/" + documentId + "/content" : null;
+    }
 }
@@ -0,0 +1,28 @@
+package com.aurionpro.bank.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Which app instance currently owns a node id of the time-ordered id generator
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "id_node_leases")
+public class IdNodeLease {
+
+    @Id
+    @Column(name = "node_id")
+    private int nodeId;
+
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    @Column(name = "lease_expires_at", nullable = false)
+    private LocalDateTime leaseExpiresAt;
+}
@@ -1,8 +1,10 @@
 package com.aurionpro.bank.entity;
 
+import com.aurionpro.bank.reference.ReferenceDataListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,6 +15,7 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Entity
+@EntityListeners(ReferenceDataListener.class)
 @NoArgsConstructor
 @Table(name = "roles")
 public class Role {
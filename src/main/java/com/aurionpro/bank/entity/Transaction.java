@@ -5,13 +5,13 @@ import java.time.LocalDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 
 import com.aurionpro.bank.enums.TransactionType;
+import com.aurionpro.bank.id.TimeOrderedId;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -27,7 +27,7 @@ import lombok.NoArgsConstructor;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     @Column(name = "transaction_id")
     private Long transactionId;
 
@@ -44,10 +44,12 @@ public class Transaction {
     private double transactionAmount;
 
     @ManyToOne
-    @JoinColumn(name = "sender_account_number", nullable = false)
+    @JoinColumn(name = "sender_account_id", nullable = false,
+            foreignKey = @ForeignKey(name = "fk_transactions_sender_account"))
     private Account senderAccount;
 
     @ManyToOne
-    @JoinColumn(name = "receiver_account_number")
+    @JoinColumn(name = "receiver_account_id",
+            foreignKey = @ForeignKey(name = "fk_transactions_receiver_account"))
     private Account receiverAccount;
 }
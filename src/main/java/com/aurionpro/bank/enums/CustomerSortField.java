@@ -0,0 +1,20 @@
+package com.aurionpro.bank.enums;
+
+import java.util.List;
+
+// Sort keys for the admin customer listing; each ends in a unique column so keyset pages never overlap
+public enum CustomerSortField {
+    ID(List.of("customer_id")),
+    NAME(List.of("last_name", "first_name", "customer_id")),
+    EMAIL(List.of("email"));
+
+    private final List<String> columns;
+
+    CustomerSortField(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+}
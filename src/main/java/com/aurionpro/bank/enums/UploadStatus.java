@@ -0,0 +1,7 @@
+package com.aurionpro.bank.enums;
+
+public enum UploadStatus {
+    PENDING,
+    STORED,
+    FAILED
+}
@@ -8,6 +8,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -33,6 +34,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    // Constraints declared on controller parameters themselves, such as a size limit on a list body
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDto> handleMethodValidationExceptions(HandlerMethodValidationException ex) {
+        List<String> errors = ex.getAllValidationResults()
+                .stream()
+                .flatMap(result -> result.getResolvableErrors().stream()
+                        .map(error -> result.getMethodParameter().getParameterName()
+                                + (result.getContainerIndex() != null ? "[" + result.getContainerIndex() + "]" : "")
+                                + (error instanceof FieldError fieldError ? "." + fieldError.getField() : "")
+                                + ": " + error.getDefaultMessage()))
+                .collect(Collectors.toList());
+
+        ErrorResponseDto errorResponse = new ErrorResponseDto("Validation failed", errors);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(CustomerNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<ErrorResponseDto> handleCustomerNotFoundException(CustomerNotFoundException ex) {
@@ -61,6 +79,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(DocumentUploadException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDto> handleDocumentUploadException(DocumentUploadException ex) {
+        ErrorResponseDto errorResponse = new ErrorResponseDto(ex.getMessage(), List.of("Document upload failed"));
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(UserApiException.class)
     public ResponseEntity<ErrorResponseDto> handleUserApiException(UserApiException ex) {
         ErrorResponseDto errorResponse = new ErrorResponseDto(ex.getMessage(), List.of("User API exception"));
@@ -0,0 +1,8 @@
+package com.aurionpro.bank.exception;
+
+// Thrown in FAIL mode when a request runs more SQL than its @SqlBudget allows
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
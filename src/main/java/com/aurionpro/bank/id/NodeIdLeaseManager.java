@@ -0,0 +1,149 @@
+package com.aurionpro.bank.id;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Gives every running instance its own node id for TimeOrderedIdGenerator.
+// A fixed app.id.node-id wins; otherwise the first free or expired row in id_node_leases is
+// claimed and kept alive by a heartbeat, so two live nodes never share an id space.
+// The generator only issues ids until lease-seconds minus lease-margin-seconds after the last
+// successful claim or renewal, measured on the local clock from before the statement was sent. If
+// the database cannot be reached for that long, this node stops issuing ids rather than risk a
+// second node claiming the expired row.
+@Component
+@DependsOn("entityManagerFactory")
+public class NodeIdLeaseManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(NodeIdLeaseManager.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int configuredNodeId;
+    private final int leaseSeconds;
+    private final long leaseValidityMillis;
+    private final String owner;
+    private volatile int leasedNodeId = -1;
+    private volatile TimeOrderedIdGenerator generator;
+
+    public NodeIdLeaseManager(JdbcTemplate jdbcTemplate,
+            @Value("${app.id.node-id:-1}") int configuredNodeId,
+            @Value("${app.id.lease-seconds:600}") int leaseSeconds,
+            @Value("${app.id.lease-margin-seconds:30}") int leaseMarginSeconds) {
+        if (leaseMarginSeconds < 0 || leaseMarginSeconds >= leaseSeconds) {
+            throw new IllegalArgumentException("app.id.lease-margin-seconds must be between 0 and app.id.lease-seconds");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.configuredNodeId = configuredNodeId;
+        this.leaseSeconds = leaseSeconds;
+        this.leaseValidityMillis = (leaseSeconds - leaseMarginSeconds) * 1000L;
+        this.owner = hostName() + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (configuredNodeId >= 0) {
+            TimeOrderedIdGenerator.install(new TimeOrderedIdGenerator(configuredNodeId));
+            logger.info("Using configured node id {} for time-ordered ids", configuredNodeId);
+            return;
+        }
+        claim();
+    }
+
+    @Scheduled(fixedDelayString = "${app.id.heartbeat-ms:60000}", initialDelayString = "${app.id.heartbeat-ms:60000}")
+    public void renewLease() {
+        if (configuredNodeId >= 0) {
+            return;
+        }
+        if (generator == null) {
+            // An earlier attempt to claim a replacement failed
+            claim();
+            return;
+        }
+        long started = System.currentTimeMillis();
+        int updated;
+        try {
+            updated = jdbcTemplate.update(
+                    "UPDATE id_node_leases SET lease_expires_at = DATE_ADD(NOW(), INTERVAL ? SECOND) WHERE node_id = ? AND owner = ?",
+                    leaseSeconds, leasedNodeId, owner);
+        } catch (DataAccessException e) {
+            if (generator.isLeaseValid(System.currentTimeMillis())) {
+                logger.warn("Unable to renew lease on node id {}, retrying on the next heartbeat", leasedNodeId, e);
+            } else {
+                logger.error("Lease on node id {} could not be renewed before it expired, no ids are issued until it is",
+                        leasedNodeId, e);
+                TimeOrderedIdGenerator.install(null);
+            }
+            return;
+        }
+        if (updated == 0) {
+            // Someone else took over the id after our lease ran out; stop issuing ids until we hold a new one
+            logger.error("Lease on node id {} was lost, claiming a new one", leasedNodeId);
+            TimeOrderedIdGenerator.install(null);
+            generator = null;
+            claim();
+            return;
+        }
+        // The row still names us as owner, so the same generator carries on, even after a missed deadline
+        generator.extendLease(started + leaseValidityMillis);
+        TimeOrderedIdGenerator.install(generator);
+    }
+
+    @PreDestroy
+    public void release() {
+        if (configuredNodeId < 0 && leasedNodeId >= 0) {
+            jdbcTemplate.update("DELETE FROM id_node_leases WHERE node_id = ? AND owner = ?", leasedNodeId, owner);
+            logger.info("Released node id {}", leasedNodeId);
+        }
+    }
+
+    private void claim() {
+        for (int nodeId = 0; nodeId <= TimeOrderedIdGenerator.MAX_NODE_ID; nodeId++) {
+            long started = System.currentTimeMillis();
+            if (tryClaim(nodeId)) {
+                leasedNodeId = nodeId;
+                TimeOrderedIdGenerator claimed = new TimeOrderedIdGenerator(nodeId);
+                claimed.extendLease(started + leaseValidityMillis);
+                generator = claimed;
+                TimeOrderedIdGenerator.install(claimed);
+                logger.info("Leased node id {} as {}", nodeId, owner);
+                return;
+            }
+        }
+        throw new IllegalStateException("All " + (TimeOrderedIdGenerator.MAX_NODE_ID + 1) + " node ids are leased");
+    }
+
+    private boolean tryClaim(int nodeId) {
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO id_node_leases (node_id, owner, lease_expires_at) VALUES (?, ?, DATE_ADD(NOW(), INTERVAL ? SECOND))",
+                    nodeId, owner, leaseSeconds);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.update(
+                    "UPDATE id_node_leases SET owner = ?, lease_expires_at = DATE_ADD(NOW(), INTERVAL ? SECOND) "
+                            + "WHERE node_id = ? AND lease_expires_at < NOW()",
+                    owner, leaseSeconds, nodeId) == 1;
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.aurionpro.bank.id;
+
+import java.time.Instant;
+
+// 53-bit ids: 41 bits of milliseconds since 2024-01-01, 6 bits of node id and 6 bits of sequence.
+// Ids grow with time, so InnoDB appends to the end of the clustered index, and they stay below
+// 2^53 so the frontend can still read them as plain JSON numbers.
+// A generator for a leased node id stops issuing once its lease deadline passes, so it can never
+// overlap with another node that claimed the expired id.
+public class TimeOrderedIdGenerator {
+
+    public static final int NODE_BITS = 6;
+    public static final int SEQUENCE_BITS = 6;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    // Small NTP corrections are absorbed by keeping the last timestamp; larger jumps fail loudly
+    private static final long MAX_BACKWARD_DRIFT_MS = 5_000;
+
+    private static volatile TimeOrderedIdGenerator current;
+
+    private final long nodeId;
+    // Local time after which the node id may belong to someone else; a configured id never expires
+    private volatile long leaseValidUntil = Long.MAX_VALUE;
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    public TimeOrderedIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public static void install(TimeOrderedIdGenerator generator) {
+        current = generator;
+    }
+
+    public static TimeOrderedIdGenerator current() {
+        TimeOrderedIdGenerator generator = current;
+        if (generator == null) {
+            throw new IllegalStateException("No node id is leased, ids cannot be generated");
+        }
+        return generator;
+    }
+
+    public void extendLease(long validUntilMillis) {
+        leaseValidUntil = validUntilMillis;
+    }
+
+    public boolean isLeaseValid(long nowMillis) {
+        return nowMillis < leaseValidUntil;
+    }
+
+    public synchronized long nextId() {
+        long now = System.currentTimeMillis();
+        if (!isLeaseValid(now)) {
+            throw new IllegalStateException("Lease on node id " + nodeId + " has expired, ids cannot be generated");
+        }
+        if (now < lastTimestamp) {
+            long drift = lastTimestamp - now;
+            if (drift > MAX_BACKWARD_DRIFT_MS) {
+                throw new IllegalStateException("Clock moved backwards by " + drift + " ms");
+            }
+            now = lastTimestamp;
+        }
+        if (now == lastTimestamp) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
+                now = waitForNextMillis(lastTimestamp);
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = now;
+        return ((now - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    private static long waitForNextMillis(long lastTimestamp) {
+        long now = System.currentTimeMillis();
+        while (now <= lastTimestamp) {
+            Thread.onSpinWait();
+            now = System.currentTimeMillis();
+        }
+        return now;
+    }
+}
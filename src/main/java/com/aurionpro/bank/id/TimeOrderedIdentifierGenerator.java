@@ -0,0 +1,19 @@
+package com.aurionpro.bank.id;
+
+import java.lang.reflect.Member;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+// Hibernate creates this itself, so it reaches the node's generator through the static holder
+public class TimeOrderedIdentifierGenerator implements IdentifierGenerator {
+
+    public TimeOrderedIdentifierGenerator(TimeOrderedId config, Member member, CustomIdGeneratorCreationContext context) {
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return TimeOrderedIdGenerator.current().nextId();
+    }
+}
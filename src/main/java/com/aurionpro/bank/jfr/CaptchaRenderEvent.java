@@ -0,0 +1,25 @@
+package com.aurionpro.bank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.aurionpro.bank.CaptchaRender")
+@Label("Captcha Render")
+@Category({ "Bank", "Security" })
+@Description("Rendering and JPEG encoding of one captcha image")
+@StackTrace(false)
+public class CaptchaRenderEvent extends Event {
+
+    @Label("On Request Thread")
+    @Description("True when the pool was empty and a caller waited for the render")
+    public boolean onRequestThread;
+
+    @Label("Image Size")
+    @DataAmount
+    public long imageSize;
+}
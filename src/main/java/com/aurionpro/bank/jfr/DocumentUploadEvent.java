@@ -0,0 +1,27 @@
+package com.aurionpro.bank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.aurionpro.bank.DocumentUpload")
+@Label("Document Upload")
+@Category({ "Bank", "Business" })
+@Description("A KYC document being spooled and queued for storage on the request thread")
+@StackTrace(false)
+public class DocumentUploadEvent extends Event {
+
+    @Label("Document Type")
+    public String documentType;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+
+    @Label("Outcome")
+    public String outcome;
+}
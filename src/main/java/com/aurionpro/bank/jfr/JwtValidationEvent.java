@@ -0,0 +1,17 @@
+package com.aurionpro.bank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.aurionpro.bank.JwtValidation")
+@Label("JWT Validation")
+@Category({ "Bank", "Security" })
+@StackTrace(false)
+public class JwtValidationEvent extends Event {
+
+    @Label("Valid")
+    public boolean valid;
+}
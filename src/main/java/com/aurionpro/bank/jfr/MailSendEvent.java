@@ -0,0 +1,25 @@
+package com.aurionpro.bank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.aurionpro.bank.MailSend")
+@Label("Mail Send")
+@Category({ "Bank", "Integration" })
+@Description("One message handed to the SMTP server; the recipient is deliberately not recorded")
+@StackTrace(false)
+public class MailSendEvent extends Event {
+
+    @Label("Subject")
+    public String subject;
+
+    @Label("Has Attachment")
+    public boolean attachment;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,86 @@
+package com.aurionpro.bank.jfr;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.aurionpro.bank.metrics.PersistenceMetrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.aurionpro.bank.Transaction")
+@Label("Bank Transaction")
+@Category({ "Bank", "Business" })
+@Description("A customer transfer, credit or debit, from service entry until its database transaction completed")
+@StackTrace(false)
+public class TransactionEvent extends Event {
+
+    @Label("Transaction Type")
+    private String transactionType;
+
+    // A bucket rather than the amount, so recordings can be shared without exposing balances
+    @Label("Amount Bucket")
+    private String amountBucket;
+
+    @Label("Database Wait")
+    @Description("Time in JDBC statements and commit on this thread, which includes any row lock waits")
+    @Timespan(Timespan.NANOSECONDS)
+    private long databaseWait;
+
+    @Label("Outcome")
+    private String outcome;
+
+    // Begins the event now and commits it once the surrounding Spring transaction has committed or rolled back,
+    // so the flush and row locks taken at commit are inside the event
+    public static void beginInCurrentTransaction(String transactionType, double amount) {
+        TransactionEvent event = new TransactionEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.transactionType = transactionType;
+        event.amountBucket = amountBucket(amount);
+        long databaseNanosAtStart = PersistenceMetrics.threadDatabaseNanos();
+        event.begin();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            event.finish("no_transaction", databaseNanosAtStart);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                event.finish(status == STATUS_COMMITTED ? "committed" : "rolled_back", databaseNanosAtStart);
+            }
+        });
+    }
+
+    private void finish(String outcome, long databaseNanosAtStart) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.databaseWait = PersistenceMetrics.threadDatabaseNanos() - databaseNanosAtStart;
+            commit();
+        }
+    }
+
+    static String amountBucket(double amount) {
+        if (amount < 100) {
+            return "<100";
+        }
+        if (amount < 1_000) {
+            return "100-1K";
+        }
+        if (amount < 10_000) {
+            return "1K-10K";
+        }
+        if (amount < 100_000) {
+            return "10K-100K";
+        }
+        return ">=100K";
+    }
+}
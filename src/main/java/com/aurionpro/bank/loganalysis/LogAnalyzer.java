@@ -0,0 +1,246 @@
+package com.aurionpro.bank.loganalysis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import com.aurionpro.bank.loganalysis.LogLineParser.LogLine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Offline summary of the application's log files: operations per minute, a breakdown of warnings and
+// errors, and how busy each thread pool was. Reads plain and gzip files, rotated or live, in either log
+// format, one file per worker thread, streaming each through fixed-size buffers.
+//
+// Runs without starting the application, from the packaged jar:
+//   java -cp BankApplicationFinal.jar -Dloader.main=com.aurionpro.bank.loganalysis.LogAnalyzer \
+//        org.springframework.boot.loader.launch.PropertiesLauncher [--format csv|json] [--out dir] [--threads n] log/
+public final class LogAnalyzer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final LogLineParser parser;
+    private final int threads;
+
+    public LogAnalyzer(int threads) {
+        this.parser = new LogLineParser(new ObjectMapper());
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String format = "csv";
+        Path out = Path.of("log-report");
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--format" -> format = argument(args, ++i);
+                case "--out" -> out = Path.of(argument(args, ++i));
+                case "--threads" -> threads = Integer.parseInt(argument(args, ++i));
+                default -> inputs.add(Path.of(args[i]));
+            }
+        }
+        if (inputs.isEmpty() || !(format.equals("csv") || format.equals("json")) || threads < 1) {
+            System.err.println("Usage: LogAnalyzer [--format csv|json] [--out dir] [--threads n] <log file or directory>...");
+            System.exit(2);
+        }
+
+        List<Path> files = findLogFiles(inputs, out);
+        long start = System.nanoTime();
+        LogSummary summary = new LogAnalyzer(threads).analyze(files);
+        Files.createDirectories(out);
+        if (format.equals("csv")) {
+            writeCsv(summary, out);
+        } else {
+            writeJson(summary, out);
+        }
+        System.err.printf("Read %d lines (%d events) from %d files in %d ms, report written to %s%n",
+                summary.getLines(), summary.getEvents(), summary.getFiles(), (System.nanoTime() - start) / 1_000_000,
+                out.toAbsolutePath());
+        if (summary.getSampledEvents() > 0) {
+            System.err.printf("%d events were kept by log sampling; counts that include them are scaled and marked estimated%n",
+                    summary.getSampledEvents());
+        }
+    }
+
+    private static String argument(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(args[index - 1] + " needs a value");
+        }
+        return args[index];
+    }
+
+    // Directories are searched for spring.log, spring.json and their rotations; the report directory is skipped
+    static List<Path> findLogFiles(List<Path> inputs, Path out) throws IOException {
+        Path report = out.toAbsolutePath().normalize();
+        List<Path> files = new ArrayList<>();
+        for (Path input : inputs) {
+            if (!Files.isDirectory(input)) {
+                files.add(input);
+                continue;
+            }
+            try (Stream<Path> paths = Files.walk(input)) {
+                paths.filter(Files::isRegularFile)
+                        .filter(path -> !path.toAbsolutePath().normalize().startsWith(report))
+                        .filter(path -> {
+                            String name = path.getFileName().toString();
+                            return name.contains(".log") || name.contains(".json");
+                        })
+                        .forEach(files::add);
+            }
+        }
+        return files;
+    }
+
+    public LogSummary analyze(List<Path> files) throws InterruptedException, IOException {
+        // Largest first, so one big file is not left running alone at the end
+        List<Path> ordered = new ArrayList<>(files);
+        ordered.sort(Comparator.comparingLong(LogAnalyzer::size).reversed());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, ordered.size())));
+        try {
+            List<Future<LogSummary>> results = new ArrayList<>();
+            for (Path file : ordered) {
+                results.add(executor.submit(() -> analyzeFile(file)));
+            }
+            LogSummary total = new LogSummary();
+            for (Future<LogSummary> result : results) {
+                try {
+                    total.merge(result.get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof UncheckedIOException io) {
+                        throw io.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    LogSummary analyzeFile(Path file) {
+        LogSummary summary = new LogSummary();
+        summary.addFile();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(open(file), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            // A plain-format warning or error is held back until the next non-blank line, which may name its exception
+            LogLine pending = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                summary.addLine();
+                if (pending != null && line.isBlank()) {
+                    continue;
+                }
+                LogLine parsed = parser.parse(line);
+                if (pending != null) {
+                    summary.add(pending, parsed == null ? LogLineParser.exceptionClass(line) : null);
+                    pending = null;
+                }
+                if (parsed == null) {
+                    continue;
+                }
+                if (parsed.exception() == null && (parsed.level().equals("WARN") || parsed.level().equals("ERROR"))) {
+                    pending = parsed;
+                } else {
+                    summary.add(parsed, parsed.exception());
+                }
+            }
+            if (pending != null) {
+                summary.add(pending, null);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + file, e);
+        }
+        return summary;
+    }
+
+    // Gzip is recognised by its magic number rather than the file name
+    private static InputStream open(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        return in;
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    static void writeCsv(LogSummary summary, Path out) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(out.resolve("operations.csv"))) {
+            // estimated is true where the count was scaled up from sampled log lines
+            writer.write("minute,operation,count,estimated\n");
+            for (Map.Entry<String, Map<String, Long>> minute : summary.getOperationsByMinute().entrySet()) {
+                for (Map.Entry<String, Long> operation : minute.getValue().entrySet()) {
+                    writer.write(minute.getKey() + "," + operation.getKey() + "," + operation.getValue() + ","
+                            + summary.isEstimated(minute.getKey(), operation.getKey()) + "\n");
+                }
+            }
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(out.resolve("errors.csv"))) {
+            writer.write("level,category,count\n");
+            for (Map.Entry<String, Long> error : summary.getErrors().entrySet()) {
+                String[] parts = error.getKey().split(" ", 2);
+                writer.write(parts[0] + "," + csv(parts[1]) + "," + error.getValue() + "\n");
+            }
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(out.resolve("threads.csv"))) {
+            writer.write("pool,events,threads,active_minutes,peak_threads_per_minute,first_minute,last_minute\n");
+            for (Map.Entry<String, Map<String, Object>> pool : summary.getThreadPools().entrySet()) {
+                Map<String, Object> usage = pool.getValue();
+                writer.write(csv(pool.getKey()) + "," + usage.get("events") + "," + usage.get("threads") + ","
+                        + usage.get("activeMinutes") + "," + usage.get("peakThreadsPerMinute") + ","
+                        + usage.get("firstMinute") + "," + usage.get("lastMinute") + "\n");
+            }
+        }
+    }
+
+    static void writeJson(LogSummary summary, Path out) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("files", summary.getFiles());
+        report.put("lines", summary.getLines());
+        report.put("events", summary.getEvents());
+        report.put("sampledEvents", summary.getSampledEvents());
+        report.put("operationsByMinute", summary.getOperationsByMinute());
+        report.put("estimatedOperations", summary.getEstimatedOperations());
+        report.put("errors", summary.getErrors());
+        report.put("threadPools", summary.getThreadPools());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.resolve("report.json").toFile(), report);
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,85 @@
+package com.aurionpro.bank.loganalysis;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Reads one line of either format the application has logged in: the Spring Boot console pattern
+// (log/spring.log and its rotations) and the JSON lines written by JsonLineEncoder (log/spring.json).
+// Lines that do not start an event, such as stack frames, parse to null.
+final class LogLineParser {
+
+    // sampleRate is how many events this line stands for when a sampling rule kept it, otherwise 1
+    record LogLine(String minute, String level, String thread, String logger, String message, String exception,
+            int sampleRate) {
+    }
+
+    // timestamp, level, pid, optional [application name], [thread], logger : message
+    private static final Pattern PLAIN = Pattern.compile(
+            "(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2})\\S*\\s+(TRACE|DEBUG|INFO|WARN|ERROR)\\s+\\d+\\s+---\\s+"
+                    + "(?:\\[[^\\]]*\\]\\s+)?\\[\\s*([^\\]]*?)\\s*\\]\\s+(\\S+)\\s*:\\s?(.*)");
+    // First line of a stack trace, e.g. "com.aurionpro.bank.exception.TransactionException: Insufficient balance"
+    private static final Pattern EXCEPTION_HEADER = Pattern.compile(
+            "(?:Caused by: )?([a-zA-Z_$][\\w$]*(?:\\.[\\w$]+)+)(?::.*)?");
+
+    private final ObjectMapper objectMapper;
+
+    LogLineParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    LogLine parse(String line) {
+        if (line.isEmpty()) {
+            return null;
+        }
+        char first = line.charAt(0);
+        if (first == '{') {
+            return parseJson(line);
+        }
+        if (first < '0' || first > '9') {
+            return null;
+        }
+        Matcher matcher = PLAIN.matcher(line);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new LogLine(matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4), matcher.group(5), null, 1);
+    }
+
+    private LogLine parseJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            // A line cut short by a crash or a rollover in progress
+            return null;
+        }
+        String timestamp = node.path("timestamp").asText("");
+        if (timestamp.length() < 16) {
+            return null;
+        }
+        JsonNode exception = node.get("exception");
+        return new LogLine(timestamp.substring(0, 16), node.path("level").asText(""), node.path("thread").asText(""),
+                node.path("logger").asText(""), node.path("message").asText(""),
+                exception == null ? null : exceptionClass(exception.asText()),
+                Math.max(1, node.path("sampleRate").asInt(1)));
+    }
+
+    // The exception class named on a stack trace's first line, or null if the line is not one
+    static String exceptionClass(String line) {
+        int end = line.indexOf('\n');
+        String header = end < 0 ? line : line.substring(0, end);
+        Matcher matcher = EXCEPTION_HEADER.matcher(header.strip());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String className = matcher.group(1);
+        if (!className.endsWith("Exception") && !className.endsWith("Error") && !className.endsWith("Throwable")) {
+            return null;
+        }
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
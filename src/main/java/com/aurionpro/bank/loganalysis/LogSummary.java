@@ -0,0 +1,218 @@
+package com.aurionpro.bank.loganalysis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.aurionpro.bank.loganalysis.LogLineParser.LogLine;
+
+// Counts for one or more log files. Each file is summarised on its own thread and the results merged,
+// so nothing here is shared while it is being filled in.
+final class LogSummary {
+
+    private record Rule(String prefix, String operation) {
+    }
+
+    // Matched against the start of the message, first match wins. Failures are counted per minute
+    // alongside the operations they belong to, so a spike in either shows up on the same row.
+    private static final List<Rule> RULES = List.of(
+            new Rule("Processing transfer transaction", "transfer"),
+            new Rule("Processing credit transaction", "credit"),
+            new Rule("Processing debit transaction", "debit"),
+            new Rule("Transaction completed successfully", "transaction_completed"),
+            new Rule("Insufficient balance for transfer", "insufficient_balance_transfer"),
+            new Rule("Insufficient balance for debit", "insufficient_balance_debit"),
+            new Rule("Transfer attempted to the same account", "same_account_transfer"),
+            new Rule("Transaction failed for customer", "inactive_account"),
+            new Rule("Invalid transaction type", "invalid_transaction_type"),
+            new Rule("Account ownership validation failed", "ownership_check_failed"),
+            new Rule("Receiver account number should not be provided", "unexpected_receiver_account"),
+            new Rule("Retrieving transactions for customer", "transaction_history"),
+            new Rule("Attempting login", "login"),
+            new Rule("Validating customer login", "login"),
+            new Rule("Login attempt failed", "login_failed"),
+            new Rule("Invalid password for username", "login_failed"),
+            new Rule("Document upload accepted", "document_upload"),
+            new Rule("Document upload queue is full", "document_upload_rejected"),
+            new Rule("Initiating chunked upload", "chunked_upload"),
+            new Rule("Customer saved successfully", "customer_created"),
+            new Rule("Customer with email", "customer_duplicate"),
+            new Rule("Account added successfully", "account_created"),
+            new Rule("Deactivating customer", "customer_deactivated"));
+
+    private static final Pattern RESOLVED = Pattern.compile("Resolved \\[([\\w.$]+)");
+    // Pool threads are named <prefix><n>, e.g. http-nio-8080-exec-3 or document-upload-2
+    private static final Pattern THREAD_NUMBER = Pattern.compile("[-_#]?\\d+$");
+
+    private final Map<String, Map<String, Long>> operationsByMinute = new TreeMap<>();
+    // Minute and operation pairs whose count was scaled up from sampled lines
+    private final Map<String, Set<String>> estimatedOperations = new TreeMap<>();
+    private final Map<String, Long> errors = new HashMap<>();
+    private final Map<String, ThreadPoolUsage> threadPools = new TreeMap<>();
+    private int files;
+    private long lines;
+    private long events;
+    private long sampledEvents;
+
+    static final class ThreadPoolUsage {
+        private long events;
+        private final Set<String> threads = new HashSet<>();
+        private final TreeMap<String, Set<String>> threadsByMinute = new TreeMap<>();
+
+        void merge(ThreadPoolUsage other) {
+            events += other.events;
+            threads.addAll(other.threads);
+            other.threadsByMinute.forEach((minute, names) ->
+                    threadsByMinute.computeIfAbsent(minute, key -> new HashSet<>()).addAll(names));
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("events", events);
+            map.put("threads", threads.size());
+            map.put("activeMinutes", threadsByMinute.size());
+            map.put("peakThreadsPerMinute", peakThreadsPerMinute());
+            map.put("firstMinute", threadsByMinute.isEmpty() ? null : threadsByMinute.firstKey());
+            map.put("lastMinute", threadsByMinute.isEmpty() ? null : threadsByMinute.lastKey());
+            return map;
+        }
+
+        private int peakThreadsPerMinute() {
+            int peak = 0;
+            for (Set<String> names : threadsByMinute.values()) {
+                peak = Math.max(peak, names.size());
+            }
+            return peak;
+        }
+    }
+
+    void addFile() {
+        files++;
+    }
+
+    void addLine() {
+        lines++;
+    }
+
+    // exception is the class of an attached stack trace, if the format or the following line gave one
+    void add(LogLine line, String exception) {
+        events++;
+        // A line kept by a 1-in-N sampling rule counts as N
+        long weight = line.sampleRate();
+        if (weight > 1) {
+            sampledEvents++;
+        }
+        String operation = operation(line.message());
+        if (operation != null) {
+            operationsByMinute.computeIfAbsent(line.minute(), key -> new TreeMap<>()).merge(operation, weight, Long::sum);
+            if (weight > 1) {
+                estimatedOperations.computeIfAbsent(line.minute(), key -> new TreeSet<>()).add(operation);
+            }
+        }
+        if (line.level().equals("WARN") || line.level().equals("ERROR")) {
+            errors.merge(errorCategory(line, operation, exception), weight, Long::sum);
+        }
+        ThreadPoolUsage usage = threadPools.computeIfAbsent(threadPool(line.thread()), key -> new ThreadPoolUsage());
+        usage.events++;
+        usage.threads.add(line.thread());
+        usage.threadsByMinute.computeIfAbsent(line.minute(), key -> new HashSet<>()).add(line.thread());
+    }
+
+    void merge(LogSummary other) {
+        files += other.files;
+        lines += other.lines;
+        events += other.events;
+        sampledEvents += other.sampledEvents;
+        other.estimatedOperations.forEach((minute, operations) ->
+                estimatedOperations.computeIfAbsent(minute, key -> new TreeSet<>()).addAll(operations));
+        other.operationsByMinute.forEach((minute, counts) -> {
+            Map<String, Long> target = operationsByMinute.computeIfAbsent(minute, key -> new TreeMap<>());
+            counts.forEach((operation, count) -> target.merge(operation, count, Long::sum));
+        });
+        other.errors.forEach((category, count) -> errors.merge(category, count, Long::sum));
+        other.threadPools.forEach((pool, usage) -> threadPools.computeIfAbsent(pool, key -> new ThreadPoolUsage()).merge(usage));
+    }
+
+    static String operation(String message) {
+        for (Rule rule : RULES) {
+            if (message.startsWith(rule.prefix())) {
+                return rule.operation();
+            }
+        }
+        return null;
+    }
+
+    // A known failure keeps its operation name; otherwise the exception, then the logger, names the category
+    static String errorCategory(LogLine line, String operation, String exception) {
+        if (operation != null) {
+            return line.level() + " " + operation;
+        }
+        Matcher resolved = RESOLVED.matcher(line.message());
+        if (resolved.lookingAt()) {
+            String className = resolved.group(1);
+            return line.level() + " " + className.substring(className.lastIndexOf('.') + 1);
+        }
+        if (exception != null) {
+            return line.level() + " " + exception;
+        }
+        String logger = line.logger();
+        return line.level() + " " + logger.substring(logger.lastIndexOf('.') + 1);
+    }
+
+    static String threadPool(String thread) {
+        String pool = THREAD_NUMBER.matcher(thread).replaceFirst("");
+        return pool.isEmpty() ? thread : pool;
+    }
+
+    int getFiles() {
+        return files;
+    }
+
+    long getLines() {
+        return lines;
+    }
+
+    long getEvents() {
+        return events;
+    }
+
+    long getSampledEvents() {
+        return sampledEvents;
+    }
+
+    Map<String, Map<String, Long>> getOperationsByMinute() {
+        return operationsByMinute;
+    }
+
+    Map<String, Set<String>> getEstimatedOperations() {
+        return estimatedOperations;
+    }
+
+    boolean isEstimated(String minute, String operation) {
+        Set<String> operations = estimatedOperations.get(minute);
+        return operations != null && operations.contains(operation);
+    }
+
+    // Most frequent first
+    Map<String, Long> getErrors() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(errors.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        entries.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    Map<String, Map<String, Object>> getThreadPools() {
+        Map<String, Map<String, Object>> pools = new LinkedHashMap<>();
+        threadPools.forEach((pool, usage) -> pools.put(pool, usage.toMap()));
+        return pools;
+    }
+}
@@ -0,0 +1,139 @@
+package com.aurionpro.bank.logging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+// Keeps 1 in N events at or below a level for chosen loggers, e.g.
+//   com.aurionpro.bank.service.CustomerServiceImpl=INFO:10, com.aurionpro.bank.search=DEBUG:100
+// A rule on a package covers the loggers under it; the longest matching prefix wins. WARN and ERROR are
+// never sampled unless a rule names them explicitly. Kept events are tagged with their rate by
+// JsonLineEncoder, so anything counting them (LogAnalyzer) can scale back up.
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    private static final List<LogSamplingTurboFilter> STARTED = new CopyOnWriteArrayList<>();
+
+    private final List<Rule> rules = new ArrayList<>();
+    private final Map<String, Optional<Rule>> rulesByLogger = new ConcurrentHashMap<>();
+
+    public static List<LogSamplingTurboFilter> startedFilters() {
+        return STARTED;
+    }
+
+    // Set from logback-spring.xml
+    public void setRules(String specification) {
+        rules.clear();
+        rulesByLogger.clear();
+        if (specification == null || specification.isBlank()) {
+            return;
+        }
+        for (String entry : specification.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                int equals = trimmed.indexOf('=');
+                int colon = trimmed.lastIndexOf(':');
+                String logger = trimmed.substring(0, equals).trim();
+                Level level = Level.toLevel(trimmed.substring(equals + 1, colon).trim(), null);
+                int rate = Integer.parseInt(trimmed.substring(colon + 1).trim());
+                if (level == null || rate < 1) {
+                    throw new IllegalArgumentException();
+                }
+                rules.add(new Rule(logger, level, rate));
+            } catch (RuntimeException e) {
+                addError("Ignoring malformed sampling rule '" + trimmed + "', expected logger=LEVEL:rate");
+            }
+        }
+        rules.sort(Comparator.comparingInt((Rule rule) -> rule.logger.length()).reversed());
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        STARTED.add(this);
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        STARTED.remove(this);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || rules.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        // Events the logger would drop anyway must not advance the sampling counter
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Rule rule = rulesByLogger.computeIfAbsent(logger.getName(), this::findRule).orElse(null);
+        if (rule == null || level.toInt() > rule.level.toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (rule.seen.getAndIncrement() % rule.rate == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        rule.dropped.increment();
+        return FilterReply.DENY;
+    }
+
+    // The 1-in-N rate events from this logger at this level are kept at, or 1 when no rule applies
+    public int sampleRate(String loggerName, Level level) {
+        if (!isStarted() || rules.isEmpty()) {
+            return 1;
+        }
+        Rule rule = rulesByLogger.computeIfAbsent(loggerName, this::findRule).orElse(null);
+        return rule == null || level.toInt() > rule.level.toInt() ? 1 : rule.rate;
+    }
+
+    // Dropped event counts per rule, as "logger=LEVEL:rate"
+    public Map<String, Long> getDroppedByRule() {
+        Map<String, Long> dropped = new LinkedHashMap<>();
+        for (Rule rule : rules) {
+            dropped.put(rule.logger + "=" + rule.level + ":" + rule.rate, rule.dropped.sum());
+        }
+        return Collections.unmodifiableMap(dropped);
+    }
+
+    private Optional<Rule> findRule(String loggerName) {
+        for (Rule rule : rules) {
+            if (loggerName.equals(rule.logger) || loggerName.startsWith(rule.logger + ".")) {
+                return Optional.of(rule);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static final class Rule {
+        private final String logger;
+        private final Level level;
+        private final int rate;
+        private final AtomicLong seen = new AtomicLong();
+        private final LongAdder dropped = new LongAdder();
+
+        private Rule(String logger, Level level, int rate) {
+            this.logger = logger;
+            this.level = level;
+            this.rate = rate;
+        }
+    }
+}
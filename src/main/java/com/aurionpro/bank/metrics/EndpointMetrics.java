@@ -0,0 +1,122 @@
+package com.aurionpro.bank.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aurionpro.bank.dto.EndpointLatencyReport;
+import com.aurionpro.bank.dto.HistogramSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+// Latency histograms per handler method and outcome. Each histogram is fixed size (about 10 KB with its
+// interval baseline) and the number of outcomes per endpoint is capped, so memory is bounded by the
+// number of controller methods. A scheduled rollover closes an interval and keeps its snapshot.
+@Component
+public class EndpointMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointMetrics.class);
+
+    // 32 buckets per power of two: percentiles within about 3%
+    private static final int PRECISION_BITS = 5;
+    static final String OVERFLOW_OUTCOME = "other";
+
+    private final int maxOutcomesPerEndpoint;
+    private final boolean dumpOnShutdown;
+    private final Path dumpFile;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Map<String, Recorder>> endpoints = new ConcurrentHashMap<>();
+    private final LocalDateTime recordingSince = LocalDateTime.now();
+    private LocalDateTime intervalStartedAt = recordingSince;
+    private volatile ClosedInterval lastInterval;
+
+    public EndpointMetrics(ObjectMapper objectMapper,
+            @Value("${app.endpoint-metrics.max-outcomes-per-endpoint:16}") int maxOutcomesPerEndpoint,
+            @Value("${app.endpoint-metrics.dump-on-shutdown:false}") boolean dumpOnShutdown,
+            @Value("${app.endpoint-metrics.dump-file:log/endpoint-latency.json}") String dumpFile) {
+        this.objectMapper = objectMapper;
+        this.maxOutcomesPerEndpoint = maxOutcomesPerEndpoint;
+        this.dumpOnShutdown = dumpOnShutdown;
+        this.dumpFile = Paths.get(dumpFile).toAbsolutePath();
+    }
+
+    public void record(String endpoint, String outcome, long micros) {
+        Map<String, Recorder> outcomes = endpoints.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>());
+        Recorder recorder = outcomes.get(outcome);
+        if (recorder == null) {
+            String key = outcomes.size() < maxOutcomesPerEndpoint ? outcome : OVERFLOW_OUTCOME;
+            recorder = outcomes.computeIfAbsent(key, k -> new Recorder());
+        }
+        recorder.histogram.record(micros);
+    }
+
+    @Scheduled(fixedRateString = "${app.endpoint-metrics.interval-milliseconds:60000}",
+            initialDelayString = "${app.endpoint-metrics.interval-milliseconds:60000}")
+    public synchronized void rollInterval() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Map<String, HistogramSnapshot>> snapshots = new TreeMap<>();
+        endpoints.forEach((endpoint, outcomes) -> outcomes.forEach((outcome, recorder) -> {
+            long[] current = recorder.histogram.bucketCounts();
+            HistogramSnapshot snapshot = recorder.histogram.snapshotBetween(recorder.baseline, current);
+            recorder.baseline = current;
+            if (snapshot.getCount() > 0) {
+                snapshots.computeIfAbsent(endpoint, key -> new TreeMap<>()).put(outcome, snapshot);
+            }
+        }));
+        lastInterval = new ClosedInterval(intervalStartedAt, now, snapshots);
+        intervalStartedAt = now;
+    }
+
+    public EndpointLatencyReport getReport() {
+        EndpointLatencyReport report = new EndpointLatencyReport();
+        report.setRecordingSince(recordingSince);
+        ClosedInterval interval = lastInterval;
+        if (interval != null) {
+            report.setIntervalStart(interval.start());
+            report.setIntervalEnd(interval.end());
+            report.setInterval(interval.snapshots());
+        }
+        Map<String, Map<String, HistogramSnapshot>> cumulative = new TreeMap<>();
+        endpoints.forEach((endpoint, outcomes) -> outcomes.forEach((outcome, recorder) ->
+                cumulative.computeIfAbsent(endpoint, key -> new TreeMap<>()).put(outcome, recorder.histogram.snapshot())));
+        report.setCumulative(cumulative);
+        return report;
+    }
+
+    @PreDestroy
+    public void dumpOnShutdown() {
+        if (!dumpOnShutdown) {
+            return;
+        }
+        rollInterval();
+        try {
+            Files.createDirectories(dumpFile.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(dumpFile.toFile(), getReport());
+            logger.info("Endpoint latency histograms written to {}", dumpFile);
+        } catch (IOException e) {
+            logger.warn("Unable to write endpoint latency histograms to {}", dumpFile, e);
+        }
+    }
+
+    private static class Recorder {
+        private final Histogram histogram = new Histogram(PRECISION_BITS);
+        // Bucket counts at the start of the current interval; only touched under the rollover lock
+        private long[] baseline;
+    }
+
+    private record ClosedInterval(LocalDateTime start, LocalDateTime end, Map<String, Map<String, HistogramSnapshot>> snapshots) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.aurionpro.bank.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindException;
+import org.springframework.web.bind.ServletRequestBindingException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolationException;
+
+// Runs ahead of the security chain (only the request id filter is earlier), so the recorded latency includes JWT validation.
+// The handler method and any exception the @ControllerAdvice handled are read back from the request
+// attributes the DispatcherServlet leaves behind; handlers that catch an exception themselves report it
+// through recordHandledFailure.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class EndpointMetricsFilter extends OncePerRequestFilter {
+
+    static final String UNMATCHED = "unmatched";
+    static final String SUCCESS = "success";
+    static final String VALIDATION_ERROR = "validation_error";
+    static final String HANDLED_FAILURE_ATTRIBUTE = EndpointMetricsFilter.class.getName() + ".HANDLED_FAILURE";
+
+    private final EndpointMetrics endpointMetrics;
+    private final boolean enabled;
+
+    public EndpointMetricsFilter(EndpointMetrics endpointMetrics,
+            @Value("${app.endpoint-metrics.enabled:true}") boolean enabled) {
+        this.endpointMetrics = endpointMetrics;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e instanceof ServletException && e.getCause() != null ? e.getCause() : e;
+            throw e;
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            if (failure == null) {
+                failure = (Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+            }
+            if (failure == null) {
+                failure = (Throwable) request.getAttribute(HANDLED_FAILURE_ATTRIBUTE);
+            }
+            endpointMetrics.record(endpoint(request), outcome(failure, response.getStatus()), micros);
+        }
+    }
+
+    // For a handler that turns an exception into its own response, so the outcome names the exception, not the status
+    public static void recordHandledFailure(Throwable failure) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(HANDLED_FAILURE_ATTRIBUTE, failure, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    static String endpoint(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        // Rejected by the security chain or no mapping matched
+        return UNMATCHED;
+    }
+
+    private static String outcome(Throwable failure, int status) {
+        if (failure == null) {
+            return status < 400 ? SUCCESS : "http_" + status;
+        }
+        if (failure instanceof BindException || failure instanceof ConstraintViolationException
+                || failure instanceof HandlerMethodValidationException || failure instanceof ServletRequestBindingException
+                || failure instanceof TypeMismatchException) {
+            return VALIDATION_ERROR;
+        }
+        return failure.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,147 @@
+package com.aurionpro.bank.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.aurionpro.bank.dto.HistogramSnapshot;
+
+// Lock-free, fixed-memory log-linear histogram in the style of HdrHistogram: each power of two is split
+// into 2^precisionBits buckets, so a percentile read back from it is within 1/2^precisionBits of the
+// true value. Recording is two atomic adds and a max update.
+public class Histogram {
+
+    // Values past 2^40 (12 days in microseconds) share the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final int DEFAULT_PRECISION_BITS = 2;
+
+    private final int precisionBits;
+    private final int subBuckets;
+    private final AtomicLongArray buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public Histogram() {
+        this(DEFAULT_PRECISION_BITS);
+    }
+
+    public Histogram(int precisionBits) {
+        this.precisionBits = precisionBits;
+        this.subBuckets = 1 << precisionBits;
+        // Values below subBuckets get a bucket each, then subBuckets per power of two
+        this.buckets = new AtomicLongArray(subBuckets + (MAX_EXPONENT - precisionBits + 1) * subBuckets);
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(bucketFor(value));
+        count.increment();
+        sum.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    // Raw bucket counts, used as the baseline for a later interval snapshot
+    public long[] bucketCounts() {
+        long[] counts = new long[buckets.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    // Concurrent records may land between the reads; the snapshot is consistent to within those in-flight values
+    public HistogramSnapshot snapshot() {
+        long[] counts = bucketCounts();
+        return summarize(counts, sum.sum(), max.get());
+    }
+
+    // Everything recorded between the two bucket captures. The sum is rebuilt from bucket midpoints and the
+    // max from the highest non-empty bucket, since neither can be subtracted exactly.
+    public HistogramSnapshot snapshotBetween(long[] baseline, long[] current) {
+        long[] counts = new long[current.length];
+        long approximateSum = 0;
+        long highest = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = current[i] - (baseline == null ? 0 : baseline[i]);
+            if (counts[i] > 0) {
+                long upper = upperBound(i);
+                approximateSum += counts[i] * (lowerBound(i) + (upper - lowerBound(i)) / 2);
+                highest = upper;
+            }
+        }
+        return summarize(counts, approximateSum, Math.min(highest, max.get()));
+    }
+
+    private HistogramSnapshot summarize(long[] counts, long observedSum, long observedMax) {
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new HistogramSnapshot(total, observedSum, (double) observedSum / total,
+                percentile(counts, total, 0.50, observedMax),
+                percentile(counts, total, 0.95, observedMax),
+                percentile(counts, total, 0.99, observedMax),
+                percentile(counts, total, 0.999, observedMax),
+                observedMax);
+    }
+
+    private long percentile(long[] counts, long total, double quantile, long observedMax) {
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), observedMax);
+            }
+        }
+        return observedMax;
+    }
+
+    int bucketFor(long value) {
+        if (value < subBuckets) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return buckets.length() - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - precisionBits)) & (subBuckets - 1);
+        return subBuckets + (exponent - precisionBits) * subBuckets + subBucket;
+    }
+
+    long lowerBound(int bucket) {
+        if (bucket < subBuckets) {
+            return bucket;
+        }
+        int exponent = (bucket - subBuckets) / subBuckets + precisionBits;
+        int subBucket = (bucket - subBuckets) % subBuckets;
+        return (long) (subBuckets + subBucket) << (exponent - precisionBits);
+    }
+
+    long upperBound(int bucket) {
+        if (bucket < subBuckets) {
+            return bucket;
+        }
+        if (bucket == buckets.length() - 1) {
+            return Long.MAX_VALUE;
+        }
+        return lowerBound(bucket + 1) - 1;
+    }
+}
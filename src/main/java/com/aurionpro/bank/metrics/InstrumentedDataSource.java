@@ -0,0 +1,211 @@
+package com.aurionpro.bank.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Wraps the pool so every connection and statement handed out is timed. This sits under both
+// Hibernate and JdbcTemplate, so batch inserts and the keyset queries are measured as well.
+// Connections count the statements run between checkout and commit/rollback; work done in
+// auto-commit mode is counted as one unit per checkout.
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final PersistenceMetrics metrics;
+
+    public InstrumentedDataSource(DataSource target, PersistenceMetrics metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection();
+        return wrap(connection, start);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection(username, password);
+        return wrap(connection, start);
+    }
+
+    private Connection wrap(Connection connection, long requestedAt) {
+        long checkedOutAt = System.nanoTime();
+        metrics.recordConnectionWait(checkedOutAt - requestedAt);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection, checkedOutAt));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final long checkedOutAt;
+        // Connections are confined to one thread at a time, so a plain counter is enough
+        private int statementCount;
+        private boolean closed;
+
+        ConnectionHandler(Connection target, long checkedOutAt) {
+            this.target = target;
+            this.checkedOutAt = checkedOutAt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "prepareStatement":
+                case "prepareCall": {
+                    Statement statement = (Statement) InstrumentedDataSource.invoke(target, method, args);
+                    return wrapStatement(statement, (String) args[0]);
+                }
+                case "createStatement": {
+                    Statement statement = (Statement) InstrumentedDataSource.invoke(target, method, args);
+                    return wrapStatement(statement, null);
+                }
+                case "commit":
+                case "rollback": {
+                    long start = System.nanoTime();
+                    try {
+                        return InstrumentedDataSource.invoke(target, method, args);
+                    } finally {
+                        metrics.recordCommit(System.nanoTime() - start);
+                        endUnitOfWork();
+                    }
+                }
+                case "close": {
+                    if (!closed) {
+                        closed = true;
+                        endUnitOfWork();
+                        metrics.recordConnectionUsage(System.nanoTime() - checkedOutAt);
+                    }
+                    return InstrumentedDataSource.invoke(target, method, args);
+                }
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return InstrumentedDataSource.invoke(target, method, args);
+            }
+        }
+
+        private void endUnitOfWork() {
+            if (statementCount > 0) {
+                metrics.recordTransaction(statementCount);
+                statementCount = 0;
+            }
+        }
+
+        private Statement wrapStatement(Statement statement, String sql) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                    new Class<?>[] { type }, new StatementHandler(this, statement, sql));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final ConnectionHandler connection;
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(ConnectionHandler connection, Statement target, String preparedSql) {
+            this.connection = connection;
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (name.equals("equals")) {
+                    return proxy == args[0];
+                }
+                if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                }
+                Object result = InstrumentedDataSource.invoke(target, method, args);
+                if (name.equals("getResultSet") && result != null) {
+                    return countRows((ResultSet) result);
+                }
+                return result;
+            }
+
+            // Plain statements carry their SQL as the first argument; executeBatch on one has none
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            long start = System.nanoTime();
+            Object result = null;
+            try {
+                result = InstrumentedDataSource.invoke(target, method, args);
+                return result instanceof ResultSet resultSet ? countRows(resultSet) : result;
+            } finally {
+                metrics.recordStatement(sql, System.nanoTime() - start);
+                connection.statementCount++;
+                RequestSqlCounter counter = RequestSqlCounter.current();
+                if (counter != null) {
+                    counter.addStatement();
+                    counter.addRows(affectedRows(result));
+                }
+            }
+        }
+    }
+
+    // Rows read are counted as the caller advances the result set, and only inside an HTTP request
+    private static ResultSet countRows(ResultSet resultSet) {
+        RequestSqlCounter counter = RequestSqlCounter.current();
+        if (counter == null) {
+            return resultSet;
+        }
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                        counter.addRows(1);
+                    }
+                    return result;
+                });
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,202 @@
+package com.aurionpro.bank.metrics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.aurionpro.bank.dto.HistogramSnapshot;
+import com.aurionpro.bank.dto.SlowQueryEntry;
+
+// Collects the timings recorded by the repository interceptor and the instrumented DataSource.
+// Everything on the hot path is a histogram record; only slow statements pay for SQL redaction and logging.
+@Component
+public class PersistenceMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistenceMetrics.class);
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 2000;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public enum StatementType { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    // Running total of database time per thread, read as a before/after difference by the JFR transaction event
+    private static final ThreadLocal<long[]> THREAD_DATABASE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final long slowQueryNanos;
+    private final int slowQueryHistory;
+
+    private final Map<String, Histogram> repositoryMethods = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> requestStatements = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> requestRows = new ConcurrentHashMap<>();
+    private final Map<StatementType, Histogram> statements = new EnumMap<>(StatementType.class);
+    private final Histogram statementsPerTransaction = new Histogram();
+    private final Histogram connectionWait = new Histogram();
+    private final Histogram connectionUsage = new Histogram();
+    private final LongAdder slowQueries = new LongAdder();
+    private final Deque<SlowQueryEntry> recentSlowQueries = new ArrayDeque<>();
+
+    public PersistenceMetrics(
+            @Value("${app.persistence-metrics.slow-query-milliseconds:200}") long slowQueryMillis,
+            @Value("${app.persistence-metrics.slow-query-history:50}") int slowQueryHistory) {
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+        this.slowQueryHistory = slowQueryHistory;
+        for (StatementType type : StatementType.values()) {
+            statements.put(type, new Histogram());
+        }
+    }
+
+    // Callers cache the returned histogram, so the map is only consulted once per repository method
+    public Histogram repositoryMethod(String name) {
+        return repositoryMethods.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    public void recordStatement(String sql, long elapsedNanos) {
+        THREAD_DATABASE_NANOS.get()[0] += elapsedNanos;
+        statements.get(classify(sql)).record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        if (elapsedNanos >= slowQueryNanos) {
+            recordSlowQuery(sql, elapsedNanos);
+        }
+    }
+
+    public void recordCommit(long elapsedNanos) {
+        THREAD_DATABASE_NANOS.get()[0] += elapsedNanos;
+    }
+
+    public static long threadDatabaseNanos() {
+        return THREAD_DATABASE_NANOS.get()[0];
+    }
+
+    public void recordTransaction(int statementCount) {
+        statementsPerTransaction.record(statementCount);
+    }
+
+    public void recordRequest(String endpoint, int statementCount, long rowCount) {
+        requestStatements.computeIfAbsent(endpoint, key -> new Histogram()).record(statementCount);
+        requestRows.computeIfAbsent(endpoint, key -> new Histogram()).record(rowCount);
+    }
+
+    public void recordConnectionWait(long elapsedNanos) {
+        connectionWait.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    public void recordConnectionUsage(long elapsedNanos) {
+        connectionUsage.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    // Slowest methods by total time first
+    public Map<String, HistogramSnapshot> getRepositoryMethods() {
+        return snapshotByTotal(repositoryMethods);
+    }
+
+    public Map<String, HistogramSnapshot> getRequestStatements() {
+        return snapshotByTotal(requestStatements);
+    }
+
+    public Map<String, HistogramSnapshot> getRequestRows() {
+        return snapshotByTotal(requestRows);
+    }
+
+    private static Map<String, HistogramSnapshot> snapshotByTotal(Map<String, Histogram> histograms) {
+        List<Map.Entry<String, Histogram>> entries = new ArrayList<>(histograms.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Histogram> entry) -> entry.getValue().getSum()).reversed());
+        Map<String, HistogramSnapshot> snapshots = new LinkedHashMap<>();
+        for (Map.Entry<String, Histogram> entry : entries) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshots;
+    }
+
+    public Map<String, HistogramSnapshot> getStatements() {
+        Map<String, HistogramSnapshot> snapshots = new LinkedHashMap<>();
+        statements.forEach((type, histogram) -> snapshots.put(type.name().toLowerCase(), histogram.snapshot()));
+        return snapshots;
+    }
+
+    public HistogramSnapshot getStatementsPerTransaction() {
+        return statementsPerTransaction.snapshot();
+    }
+
+    public HistogramSnapshot getConnectionWait() {
+        return connectionWait.snapshot();
+    }
+
+    public HistogramSnapshot getConnectionUsage() {
+        return connectionUsage.snapshot();
+    }
+
+    public long getSlowQueryCount() {
+        return slowQueries.sum();
+    }
+
+    public synchronized List<SlowQueryEntry> getRecentSlowQueries() {
+        return new ArrayList<>(recentSlowQueries);
+    }
+
+    private void recordSlowQuery(String sql, long elapsedNanos) {
+        slowQueries.increment();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        String redacted = redact(sql);
+        logger.warn("Slow query ({} ms): {}", elapsedMillis, redacted);
+
+        SlowQueryEntry entry = new SlowQueryEntry(LocalDateTime.now(), elapsedMillis, Thread.currentThread().getName(), redacted);
+        synchronized (this) {
+            if (recentSlowQueries.size() >= slowQueryHistory) {
+                recentSlowQueries.removeFirst();
+            }
+            recentSlowQueries.addLast(entry);
+        }
+    }
+
+    // Strips inline literals so nothing a customer typed ends up in the log, and folds IN lists to one marker
+    static String redact(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("?");
+        redacted = NUMERIC_LITERAL.matcher(redacted).replaceAll("?");
+        redacted = PLACEHOLDER_LIST.matcher(redacted).replaceAll("?...");
+        redacted = WHITESPACE.matcher(redacted).replaceAll(" ").trim();
+        return redacted.length() > MAX_LOGGED_SQL_LENGTH ? redacted.substring(0, MAX_LOGGED_SQL_LENGTH) + "..." : redacted;
+    }
+
+    static StatementType classify(String sql) {
+        if (sql == null) {
+            return StatementType.OTHER;
+        }
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        if (sql.regionMatches(true, start, "select", 0, 6) || sql.regionMatches(true, start, "with", 0, 4)) {
+            return StatementType.SELECT;
+        }
+        if (sql.regionMatches(true, start, "insert", 0, 6)) {
+            return StatementType.INSERT;
+        }
+        if (sql.regionMatches(true, start, "update", 0, 6)) {
+            return StatementType.UPDATE;
+        }
+        if (sql.regionMatches(true, start, "delete", 0, 6)) {
+            return StatementType.DELETE;
+        }
+        return StatementType.OTHER;
+    }
+}
@@ -0,0 +1,38 @@
+package com.aurionpro.bank.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+// Added to every Spring Data repository proxy; times each call under "RepoName.method"
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final PersistenceMetrics metrics;
+    private final String repositoryName;
+    private final Map<Method, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(PersistenceMetrics metrics, Class<?> repositoryInterface) {
+        this.metrics = metrics;
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        Histogram histogram = histograms.computeIfAbsent(method,
+                key -> metrics.repositoryMethod(repositoryName + "." + key.getName()));
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+    }
+}
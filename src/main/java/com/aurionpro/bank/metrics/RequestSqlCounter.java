@@ -0,0 +1,46 @@
+package com.aurionpro.bank.metrics;
+
+// Statements and rows run on the current thread while an HTTP request is in progress. The instrumented
+// DataSource only pays for row counting when a counter is active.
+public final class RequestSqlCounter {
+
+    private static final ThreadLocal<RequestSqlCounter> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+
+    private RequestSqlCounter() {
+    }
+
+    static RequestSqlCounter start() {
+        RequestSqlCounter counter = new RequestSqlCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static RequestSqlCounter current() {
+        return CURRENT.get();
+    }
+
+    void addStatement() {
+        statements++;
+    }
+
+    void addRows(long count) {
+        if (count > 0) {
+            rows += count;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,20 @@
+package com.aurionpro.bank.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Upper bound on the SQL a single request to this handler may run, counted from the first filter on,
+// so the JWT user lookup is included. On a controller class it applies to methods without their own.
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+
+    int statements();
+
+    // Rows read from result sets plus rows reported by updates; negative means unbounded
+    long rows() default -1;
+}
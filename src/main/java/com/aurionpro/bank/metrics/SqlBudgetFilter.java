@@ -0,0 +1,101 @@
+package com.aurionpro.bank.metrics;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.aurionpro.bank.exception.SqlBudgetExceededException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Counts the SQL statements and rows each request runs and checks them against the handler's @SqlBudget.
+// LOG (production) reports a violation at WARN; FAIL (tests) throws, so the test that made the request fails.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    public enum Mode { OFF, LOG, FAIL }
+
+    private final PersistenceMetrics persistenceMetrics;
+    private final Mode mode;
+    private final Map<Method, Optional<SqlBudget>> budgets = new ConcurrentHashMap<>();
+
+    public SqlBudgetFilter(PersistenceMetrics persistenceMetrics, @Value("${app.sql-budget.mode:LOG}") Mode mode) {
+        this.persistenceMetrics = persistenceMetrics;
+        this.mode = mode;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return mode == Mode.OFF;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlCounter counter = RequestSqlCounter.start();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            RequestSqlCounter.stop();
+            String endpoint = EndpointMetricsFilter.endpoint(request);
+            persistenceMetrics.recordRequest(endpoint, counter.getStatements(), counter.getRows());
+            // A request that already failed keeps its own exception
+            if (completed) {
+                checkBudget(request, endpoint, counter);
+            }
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, String endpoint, RequestSqlCounter counter) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        SqlBudget budget = budgets.computeIfAbsent(handlerMethod.getMethod(), method -> findBudget(handlerMethod)).orElse(null);
+        if (budget == null) {
+            return;
+        }
+
+        boolean statementsExceeded = counter.getStatements() > budget.statements();
+        boolean rowsExceeded = budget.rows() >= 0 && counter.getRows() > budget.rows();
+        if (!statementsExceeded && !rowsExceeded) {
+            return;
+        }
+        String message = String.format("%s %s ran %d statements and %d rows, budget is %d statements and %s rows",
+                endpoint, request.getRequestURI(), counter.getStatements(), counter.getRows(), budget.statements(),
+                budget.rows() >= 0 ? String.valueOf(budget.rows()) : "unbounded");
+        if (mode == Mode.FAIL) {
+            throw new SqlBudgetExceededException(message);
+        }
+        logger.warn("SQL budget exceeded: {}", message);
+    }
+
+    private static Optional<SqlBudget> findBudget(HandlerMethod handlerMethod) {
+        SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), SqlBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), SqlBudget.class);
+        }
+        return Optional.ofNullable(budget);
+    }
+}
@@ -0,0 +1,193 @@
+package com.aurionpro.bank.migration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Replaces accounts.account_number as the primary key with a surrogate BIGINT account_id and
+// repoints transactions.sender/receiver from the account number to that id.
+// Has to run before Hibernate's ddl-auto=update, which cannot change a primary key, so the
+// EntityManagerFactory is made to depend on it. Transactions are backfilled in keyset chunks
+// of autocommitted UPDATEs, so an interrupted run simply resumes where it stopped.
+@Component("accountSurrogateKeyMigration")
+public class AccountSurrogateKeyMigration implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountSurrogateKeyMigration.class);
+
+    private static final int LATENCY_SAMPLES = 21;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public AccountSurrogateKeyMigration(JdbcTemplate jdbcTemplate,
+            @Value("${app.migration.account-key.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!tableExists("accounts")) {
+            logger.debug("No accounts table yet, Hibernate will create the surrogate key schema.");
+            return;
+        }
+        boolean hasTransactions = tableExists("transactions");
+        boolean legacyTransactions = hasTransactions && columnExists("transactions", "sender_account_number");
+        if (columnExists("accounts", "account_id") && !legacyTransactions) {
+            logger.debug("Account surrogate key migration already applied.");
+            return;
+        }
+
+        logger.info("Migrating accounts to a surrogate account_id key.");
+        long[] sizeBefore = legacyTransactions ? transactionTableSize() : null;
+        Double latencyBefore = legacyTransactions ? historyQueryMillis("a.account_number = t.sender_account_number") : null;
+
+        // The unique key keeps the legacy foreign keys valid while the primary key is swapped
+        if (!columnExists("accounts", "account_id")) {
+            if (!indexExists("accounts", "uk_accounts_account_number")) {
+                jdbcTemplate.execute("ALTER TABLE accounts ADD CONSTRAINT uk_accounts_account_number UNIQUE (account_number)");
+            }
+            jdbcTemplate.execute("ALTER TABLE accounts DROP PRIMARY KEY, "
+                    + "ADD COLUMN account_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY FIRST");
+            logger.info("accounts.account_id added as primary key.");
+        }
+
+        if (legacyTransactions) {
+            migrateTransactions();
+            long[] sizeAfter = transactionTableSize();
+            Double latencyAfter = historyQueryMillis("a.account_id = t.sender_account_id");
+            logger.info("transactions data {} KB -> {} KB, indexes {} KB -> {} KB",
+                    sizeBefore[0] / 1024, sizeAfter[0] / 1024, sizeBefore[1] / 1024, sizeAfter[1] / 1024);
+            if (latencyBefore != null && latencyAfter != null) {
+                logger.info("Sent-history query median {} ms -> {} ms over {} runs",
+                        String.format("%.3f", latencyBefore), String.format("%.3f", latencyAfter), LATENCY_SAMPLES);
+            }
+        }
+        logger.info("Account surrogate key migration complete.");
+    }
+
+    private void migrateTransactions() {
+        if (!columnExists("transactions", "sender_account_id")) {
+            jdbcTemplate.execute("ALTER TABLE transactions ADD COLUMN sender_account_id BIGINT NULL, "
+                    + "ADD COLUMN receiver_account_id BIGINT NULL");
+        }
+
+        long rows = 0;
+        int chunks = 0;
+        Long lastId = Long.MIN_VALUE;
+        while (true) {
+            Long upperId = lastIdOfNextChunk(lastId);
+            if (upperId == null) {
+                break;
+            }
+            rows += jdbcTemplate.update("UPDATE transactions t JOIN accounts a ON a.account_number = t.sender_account_number "
+                    + "SET t.sender_account_id = a.account_id "
+                    + "WHERE t.transaction_id > ? AND t.transaction_id <= ? AND t.sender_account_id IS NULL", lastId, upperId);
+            jdbcTemplate.update("UPDATE transactions t JOIN accounts a ON a.account_number = t.receiver_account_number "
+                    + "SET t.receiver_account_id = a.account_id "
+                    + "WHERE t.transaction_id > ? AND t.transaction_id <= ? AND t.receiver_account_id IS NULL", lastId, upperId);
+            lastId = upperId;
+            if (++chunks % 100 == 0) {
+                logger.info("Backfilled {} transactions in {} chunks", rows, chunks);
+            }
+        }
+        logger.info("Backfilled {} transactions in {} chunks", rows, chunks);
+
+        Integer unmapped = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE sender_account_id IS NULL "
+                + "OR (receiver_account_number IS NOT NULL AND receiver_account_id IS NULL)", Integer.class);
+        if (unmapped != null && unmapped > 0) {
+            throw new IllegalStateException(unmapped + " transactions reference unknown account numbers, migration stopped");
+        }
+
+        for (String column : Arrays.asList("sender_account_number", "receiver_account_number")) {
+            for (String constraint : foreignKeysOn("transactions", column)) {
+                jdbcTemplate.execute("ALTER TABLE transactions DROP FOREIGN KEY " + constraint);
+            }
+        }
+        // INPLACE rebuilds the table, which is what actually gives the space of the old columns back
+        jdbcTemplate.execute("ALTER TABLE transactions DROP COLUMN sender_account_number, DROP COLUMN receiver_account_number, "
+                + "MODIFY sender_account_id BIGINT NOT NULL, ALGORITHM=INPLACE");
+        jdbcTemplate.execute("ALTER TABLE transactions "
+                + "ADD CONSTRAINT fk_transactions_sender_account FOREIGN KEY (sender_account_id) REFERENCES accounts (account_id), "
+                + "ADD CONSTRAINT fk_transactions_receiver_account FOREIGN KEY (receiver_account_id) REFERENCES accounts (account_id)");
+    }
+
+    private Long lastIdOfNextChunk(Long afterId) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT transaction_id FROM transactions WHERE transaction_id > ? "
+                + "ORDER BY transaction_id LIMIT 1 OFFSET ?", Long.class, afterId, chunkSize - 1);
+        if (!ids.isEmpty()) {
+            return ids.get(0);
+        }
+        return jdbcTemplate.queryForObject("SELECT MAX(transaction_id) FROM transactions WHERE transaction_id > ?", Long.class, afterId);
+    }
+
+    // data_length and index_length in bytes, after refreshing InnoDB's statistics
+    private long[] transactionTableSize() {
+        jdbcTemplate.queryForList("ANALYZE TABLE transactions");
+        Map<String, Object> size = jdbcTemplate.queryForMap("SELECT data_length, index_length FROM information_schema.tables "
+                + "WHERE table_schema = DATABASE() AND table_name = 'transactions'");
+        return new long[] { ((Number) size.get("data_length")).longValue(), ((Number) size.get("index_length")).longValue() };
+    }
+
+    // Median time of the sent-history page for the customer of the first account, the query behind findBySenderAccount_Customer
+    private Double historyQueryMillis(String joinCondition) {
+        List<Integer> customers = jdbcTemplate.queryForList("SELECT customer_id FROM accounts ORDER BY customer_id LIMIT 1", Integer.class);
+        if (customers.isEmpty()) {
+            return null;
+        }
+        String sql = "SELECT t.* FROM transactions t JOIN accounts a ON " + joinCondition
+                + " WHERE a.customer_id = ? ORDER BY t.transaction_date DESC LIMIT 20";
+        List<Long> timings = new ArrayList<>();
+        for (int i = 0; i < LATENCY_SAMPLES; i++) {
+            long started = System.nanoTime();
+            jdbcTemplate.queryForList(sql, customers.get(0));
+            timings.add(System.nanoTime() - started);
+        }
+        timings.sort(null);
+        return timings.get(timings.size() / 2) / 1_000_000.0;
+    }
+
+    private boolean tableExists(String table) {
+        return count("SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?", table) > 0;
+    }
+
+    private boolean columnExists(String table, String column) {
+        return count("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?", table, column) > 0;
+    }
+
+    private boolean indexExists(String table, String index) {
+        return count("SELECT COUNT(*) FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?", table, index) > 0;
+    }
+
+    private List<String> foreignKeysOn(String table, String column) {
+        return jdbcTemplate.queryForList("SELECT constraint_name FROM information_schema.key_column_usage "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ? AND referenced_table_name IS NOT NULL",
+                String.class, table, column);
+    }
+
+    private int count(String sql, Object... args) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return count == null ? 0 : count;
+    }
+
+    // Makes the EntityManagerFactory, and with it the schema update, wait for this migration
+    @Configuration(proxyBeanMethods = false)
+    static class EntityManagerFactoryDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnMigration() {
+            super("accountSurrogateKeyMigration");
+        }
+    }
+}
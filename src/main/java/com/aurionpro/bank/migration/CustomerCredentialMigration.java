@@ -0,0 +1,81 @@
+package com.aurionpro.bank.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Moves customer passwords out of customers.password into the users table,
+// links every customer to its users row and drops the duplicated column.
+// Runs before the EntityManagerFactory, like AccountSurrogateKeyMigration, so no request can log in
+// against a half-migrated schema. MySQL commits each DDL statement on its own, so instead of relying on
+// a transaction every step only touches rows it has not handled yet; a failed run is simply re-run.
+@Component("customerCredentialMigration")
+public class CustomerCredentialMigration implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerCredentialMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerCredentialMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!columnExists("customers", "password")) {
+            logger.debug("Customer credential migration already applied.");
+            return;
+        }
+
+        logger.info("Migrating customer credentials into the users table.");
+
+        // Hibernate would add this column, but only after this migration has run
+        if (!columnExists("customers", "user_id")) {
+            jdbcTemplate.execute("ALTER TABLE customers ADD COLUMN user_id INT NULL");
+        }
+
+        // Customers that never got a users row keep their existing hash
+        int created = jdbcTemplate.update(
+                "INSERT INTO users (username, password) "
+                        + "SELECT c.email, c.password FROM customers c "
+                        + "LEFT JOIN users u ON u.username = c.email WHERE u.user_id IS NULL");
+        jdbcTemplate.update(
+                "INSERT INTO user_roles (user_id, role_id) "
+                        + "SELECT u.user_id, r.role_id FROM users u "
+                        + "JOIN customers c ON c.email = u.username "
+                        + "JOIN roles r ON r.role_name = 'ROLE_CUSTOMER' "
+                        + "LEFT JOIN user_roles ur ON ur.user_id = u.user_id WHERE ur.user_id IS NULL");
+
+        int linked = jdbcTemplate.update(
+                "UPDATE customers c JOIN users u ON u.username = c.email "
+                        + "SET c.user_id = u.user_id WHERE c.user_id IS NULL");
+
+        // The column holds the only copy of a hash until its customer is linked
+        Integer unlinked = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE user_id IS NULL", Integer.class);
+        if (unlinked != null && unlinked > 0) {
+            throw new IllegalStateException(unlinked + " customers could not be linked to a users row, migration stopped");
+        }
+
+        jdbcTemplate.execute("ALTER TABLE customers DROP COLUMN password");
+        logger.info("Customer credential migration complete: {} users created, {} customers linked.", created, linked);
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?", Integer.class, table, column);
+        return count != null && count > 0;
+    }
+
+    // Makes the EntityManagerFactory, and with it the schema update, wait for this migration
+    @Configuration(proxyBeanMethods = false)
+    static class EntityManagerFactoryDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnMigration() {
+            super("customerCredentialMigration");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.aurionpro.bank.reference;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.aurionpro.bank.entity.Bank;
+import com.aurionpro.bank.entity.Role;
+import com.aurionpro.bank.exception.UserApiException;
+import com.aurionpro.bank.reference.ReferenceDataSnapshot.BankRef;
+import com.aurionpro.bank.reference.ReferenceDataSnapshot.RoleRef;
+import com.aurionpro.bank.repo.BankRepo;
+import com.aurionpro.bank.repo.RoleRepo;
+
+import jakarta.annotation.PostConstruct;
+
+// Serves role and bank lookups from an in-memory snapshot instead of the database.
+// Writes through JPA swap in a new snapshot (see ReferenceDataListener), and a scheduled
+// check reloads both tables and swaps if someone changed them behind the application's back.
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final RoleRepo roleRepo;
+    private final BankRepo bankRepo;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long missReloadIntervalMillis;
+    private final AtomicReference<ReferenceDataSnapshot> snapshot = new AtomicReference<>();
+    private volatile long lastMissReload;
+
+    public ReferenceDataCache(RoleRepo roleRepo, BankRepo bankRepo, PlatformTransactionManager transactionManager,
+            @Value("${app.reference-data.miss-reload-interval-milliseconds:5000}") long missReloadIntervalMillis) {
+        this.roleRepo = roleRepo;
+        this.bankRepo = bankRepo;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.missReloadIntervalMillis = missReloadIntervalMillis;
+    }
+
+    @PostConstruct
+    public void load() {
+        ReferenceDataSnapshot loaded = loadFromDatabase();
+        snapshot.set(loaded);
+        logger.info("Loaded reference data: {} roles, {} banks", loaded.roleCount(), loaded.bankCount());
+    }
+
+    public RoleRef getRoleRef(String roleName) {
+        RoleRef role = snapshot.get().role(roleName);
+        if (role == null && reloadAfterMiss()) {
+            role = snapshot.get().role(roleName);
+        }
+        if (role == null) {
+            logger.error("Role {} not found", roleName);
+            throw new UserApiException(HttpStatus.BAD_REQUEST, "Role not found.");
+        }
+        return role;
+    }
+
+    // Returns a reference that can be assigned to an association without loading the row
+    public Role getRole(String roleName) {
+        return roleRepo.getReferenceById(getRoleRef(roleName).roleId());
+    }
+
+    public Bank getBank(long bankId) {
+        BankRef bank = snapshot.get().bank(bankId);
+        if (bank == null && reloadAfterMiss()) {
+            bank = snapshot.get().bank(bankId);
+        }
+        if (bank == null) {
+            throw new UserApiException(HttpStatus.BAD_REQUEST, "Bank not found.");
+        }
+        return bankRepo.getReferenceById(bank.bankId());
+    }
+
+    public ReferenceDataSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    void roleSaved(Role role) {
+        swap(current -> current.withRole(new RoleRef(role.getRoleId(), role.getRoleName())));
+    }
+
+    void roleRemoved(Role role) {
+        swap(current -> current.withoutRole(role.getRoleId()));
+    }
+
+    void bankSaved(Bank bank) {
+        swap(current -> current.withBank(new BankRef(bank.getBankId(), bank.getBankName())));
+    }
+
+    void bankRemoved(Bank bank) {
+        swap(current -> current.withoutBank(bank.getBankId()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.reference-data.verify-interval-milliseconds:300000}",
+            initialDelayString = "${app.reference-data.verify-interval-milliseconds:300000}")
+    public void verifyAgainstDatabase() {
+        // Taken before the load, so a save or delete applied while loading makes the swap below fail
+        ReferenceDataSnapshot current = snapshot.get();
+        ReferenceDataSnapshot loaded = loadFromDatabase();
+        if (!loaded.sameContentAs(current)) {
+            if (!snapshot.compareAndSet(current, loaded)) {
+                logger.debug("Reference data changed while verifying, leaving the check to the next run");
+                return;
+            }
+            logger.warn("Reference data drifted from the database ({} roles/{} banks cached, {} roles/{} banks stored), reloaded",
+                    current.roleCount(), current.bankCount(), loaded.roleCount(), loaded.bankCount());
+        }
+    }
+
+    private void swap(UnaryOperator<ReferenceDataSnapshot> change) {
+        snapshot.updateAndGet(change);
+    }
+
+    // Rows inserted outside the application become visible on first use, at most one reload per interval
+    private boolean reloadAfterMiss() {
+        long now = System.currentTimeMillis();
+        if (now - lastMissReload < missReloadIntervalMillis) {
+            return false;
+        }
+        lastMissReload = now;
+        // A snapshot swapped in while loading is newer than the load, so it is kept
+        ReferenceDataSnapshot current = snapshot.get();
+        snapshot.compareAndSet(current, loadFromDatabase());
+        return true;
+    }
+
+    private ReferenceDataSnapshot loadFromDatabase() {
+        return readOnlyTransaction.execute(status -> new ReferenceDataSnapshot(
+                roleRepo.findAll().stream().map(role -> new RoleRef(role.getRoleId(), role.getRoleName())).toList(),
+                bankRepo.findAll().stream().map(bank -> new BankRef(bank.getBankId(), bank.getBankName())).toList()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.aurionpro.bank.reference;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.aurionpro.bank.entity.Bank;
+import com.aurionpro.bank.entity.Role;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA listener on Role and Bank that swaps a new snapshot into ReferenceDataCache once the write commits
+@Component
+public class ReferenceDataListener {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    public ReferenceDataListener(@Lazy ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Object entity) {
+        if (entity instanceof Role role) {
+            afterCommit(() -> referenceDataCache.roleSaved(role));
+        } else if (entity instanceof Bank bank) {
+            afterCommit(() -> referenceDataCache.bankSaved(bank));
+        }
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof Role role) {
+            afterCommit(() -> referenceDataCache.roleRemoved(role));
+        } else if (entity instanceof Bank bank) {
+            afterCommit(() -> referenceDataCache.bankRemoved(bank));
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.aurionpro.bank.reference;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable copy of the roles and banks tables; replaced wholesale, never modified in place
+public final class ReferenceDataSnapshot {
+
+    public record RoleRef(int roleId, String roleName) {
+    }
+
+    public record BankRef(long bankId, String bankName) {
+    }
+
+    private final Map<String, RoleRef> rolesByName;
+    private final Map<Long, BankRef> banksById;
+    private final LocalDateTime loadedAt;
+
+    ReferenceDataSnapshot(List<RoleRef> roles, List<BankRef> banks) {
+        Map<String, RoleRef> roleMap = new HashMap<>();
+        roles.forEach(role -> roleMap.put(role.roleName(), role));
+        Map<Long, BankRef> bankMap = new HashMap<>();
+        banks.forEach(bank -> bankMap.put(bank.bankId(), bank));
+        this.rolesByName = Map.copyOf(roleMap);
+        this.banksById = Map.copyOf(bankMap);
+        this.loadedAt = LocalDateTime.now();
+    }
+
+    public RoleRef role(String roleName) {
+        return rolesByName.get(roleName);
+    }
+
+    public BankRef bank(long bankId) {
+        return banksById.get(bankId);
+    }
+
+    public int roleCount() {
+        return rolesByName.size();
+    }
+
+    public int bankCount() {
+        return banksById.size();
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    ReferenceDataSnapshot withRole(RoleRef role) {
+        List<RoleRef> roles = new ArrayList<>(rolesByName.values());
+        roles.removeIf(existing -> existing.roleId() == role.roleId());
+        roles.add(role);
+        return new ReferenceDataSnapshot(roles, List.copyOf(banksById.values()));
+    }
+
+    ReferenceDataSnapshot withBank(BankRef bank) {
+        List<BankRef> banks = new ArrayList<>(banksById.values());
+        banks.removeIf(existing -> existing.bankId() == bank.bankId());
+        banks.add(bank);
+        return new ReferenceDataSnapshot(List.copyOf(rolesByName.values()), banks);
+    }
+
+    ReferenceDataSnapshot withoutRole(int roleId) {
+        List<RoleRef> roles = new ArrayList<>(rolesByName.values());
+        roles.removeIf(existing -> existing.roleId() == roleId);
+        return new ReferenceDataSnapshot(roles, List.copyOf(banksById.values()));
+    }
+
+    ReferenceDataSnapshot withoutBank(long bankId) {
+        List<BankRef> banks = new ArrayList<>(banksById.values());
+        banks.removeIf(existing -> existing.bankId() == bankId);
+        return new ReferenceDataSnapshot(List.copyOf(rolesByName.values()), banks);
+    }
+
+    boolean sameContentAs(ReferenceDataSnapshot other) {
+        return rolesByName.equals(other.rolesByName) && banksById.equals(other.banksById);
+    }
+}
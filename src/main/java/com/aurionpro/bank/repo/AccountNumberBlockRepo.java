@@ -0,0 +1,19 @@
+package com.aurionpro.bank.repo;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.aurionpro.bank.entity.AccountNumberBlock;
+
+import jakarta.persistence.LockModeType;
+
+public interface AccountNumberBlockRepo extends JpaRepository<AccountNumberBlock, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM AccountNumberBlock b WHERE b.prefix = :prefix")
+    Optional<AccountNumberBlock> findForUpdate(@Param("prefix") String prefix);
+}
@@ -10,11 +10,14 @@ import org.springframework.data.jpa.repository.Query;
 import com.aurionpro.bank.entity.Account;
 import com.aurionpro.bank.entity.Customer;
 
-public interface AccountRepo extends JpaRepository<Account, String> {
+public interface AccountRepo extends JpaRepository<Account, Long> {
     List<Account> findByCustomer(Customer customer);
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    boolean existsByCustomer_CustomerId(int customerId);
+
     @Modifying
-    @Query("UPDATE Account a SET a.status = 'INACTIVE' WHERE a.customer.id = :customerId")
-    void setAccountsStatusToInactiveByCustomerId(int customerId);
+    @Query("UPDATE Account a SET a.status = com.aurionpro.bank.enums.AccountStatus.INACTIVE "
+            + "WHERE a.customer.customerId = :customerId AND a.status <> com.aurionpro.bank.enums.AccountStatus.INACTIVE")
+    int setAccountsStatusToInactiveByCustomerId(int customerId);
 }
\ No newline at end of file
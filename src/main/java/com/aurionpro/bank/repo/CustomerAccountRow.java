@@ -0,0 +1,9 @@
+package com.aurionpro.bank.repo;
+
+// One row per owned account (or a single row with null account fields for a customer without accounts)
+public interface CustomerAccountRow {
+    int getCustomerId();
+    String getEmail();
+    Long getAccountId();
+    String getAccountNumber();
+}
@@ -1,13 +1,19 @@
 package com.aurionpro.bank.repo;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.aurionpro.bank.entity.Customer;
 
-public interface CustomerRepo extends JpaRepository<Customer, Integer> {
+public interface CustomerRepo extends JpaRepository<Customer, Integer>, CustomerSummaryRepo {
     Optional<Customer> findByEmail(String email);
 
+    @Query("SELECT c.customerId AS customerId, c.email AS email, a.accountId AS accountId, a.accountNumber AS accountNumber "
+            + "FROM Customer c LEFT JOIN c.accounts a WHERE c.email = :email")
+    List<CustomerAccountRow> findAccountRowsByEmail(String email);
+
 
 }
@@ -0,0 +1,87 @@
+package com.aurionpro.bank.repo;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.aurionpro.bank.dto.CustomerSummaryDto;
+import com.aurionpro.bank.enums.CustomerSortField;
+
+import lombok.RequiredArgsConstructor;
+
+// Fragment implementation picked up by CustomerRepo. The inner query walks the sort index from the
+// cursor and stops after one page; account and KYC counts are then aggregated for that page only.
+@RequiredArgsConstructor
+public class CustomerRepoImpl implements CustomerSummaryRepo {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<CustomerSummaryDto> findSummaries(CustomerSortField sortField, Sort.Direction direction, List<Object> after, int limit) {
+        List<String> columns = sortField.getColumns();
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        String where = "";
+        if (after != null) {
+            for (int i = 0; i < columns.size(); i++) {
+                params.addValue("k" + i, after.get(i));
+            }
+            where = "WHERE " + keysetPredicate(columns, direction.isAscending() ? ">" : "<", 0);
+        }
+
+        String sql = "SELECT p.customer_id, p.first_name, p.last_name, p.email, "
+                + "(SELECT COUNT(*) FROM accounts a WHERE a.customer_id = p.customer_id) AS account_count, "
+                + "COUNT(d.document_id) AS document_count, "
+                + "COALESCE(SUM(d.kyc_status = 'PENDING'), 0) AS pending_count, "
+                + "COALESCE(SUM(d.kyc_status = 'APPROVED'), 0) AS approved_count, "
+                + "COALESCE(SUM(d.kyc_status = 'REJECTED'), 0) AS rejected_count "
+                + "FROM (SELECT c.customer_id, c.first_name, c.last_name, c.email FROM customers c "
+                + where + " ORDER BY " + orderBy(columns, "c", direction) + " LIMIT :limit) p "
+                + "LEFT JOIN documents d ON d.customer_id = p.customer_id "
+                + "GROUP BY p.customer_id, p.first_name, p.last_name, p.email "
+                + "ORDER BY " + orderBy(columns, "p", direction);
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            long documents = rs.getLong("document_count");
+            long pending = rs.getLong("pending_count");
+            long approved = rs.getLong("approved_count");
+            long rejected = rs.getLong("rejected_count");
+            return new CustomerSummaryDto(
+                    rs.getInt("customer_id"),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("email"),
+                    rs.getLong("account_count"),
+                    documents, pending, approved, rejected,
+                    kycStatus(documents, pending, rejected));
+        });
+    }
+
+    private static String orderBy(List<String> columns, String alias, Sort.Direction direction) {
+        return columns.stream()
+                .map(column -> alias + "." + column + " " + direction.name())
+                .collect(Collectors.joining(", "));
+    }
+
+    // (c0 > :k0) OR (c0 = :k0 AND ((c1 > :k1) OR (c1 = :k1 AND ...))), which MySQL turns into an index range scan
+    private static String keysetPredicate(List<String> columns, String operator, int index) {
+        String column = "c." + columns.get(index);
+        String strict = column + " " + operator + " :k" + index;
+        if (index == columns.size() - 1) {
+            return strict;
+        }
+        return "(" + strict + " OR (" + column + " = :k" + index + " AND " + keysetPredicate(columns, operator, index + 1) + "))";
+    }
+
+    private static String kycStatus(long documents, long pending, long rejected) {
+        if (documents == 0) {
+            return "NONE";
+        }
+        if (pending > 0) {
+            return "PENDING";
+        }
+        return rejected > 0 ? "REJECTED" : "APPROVED";
+    }
+}
@@ -0,0 +1,14 @@
+package com.aurionpro.bank.repo;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+import com.aurionpro.bank.dto.CustomerSummaryDto;
+import com.aurionpro.bank.enums.CustomerSortField;
+
+public interface CustomerSummaryRepo {
+
+    // after holds the sort column values of the last row of the previous page, or null for the first page
+    List<CustomerSummaryDto> findSummaries(CustomerSortField sortField, Sort.Direction direction, List<Object> after, int limit);
+}
@@ -1,13 +1,61 @@
 package com.aurionpro.bank.repo;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import com.aurionpro.bank.entity.Customer;
 import com.aurionpro.bank.entity.Document;
+import com.aurionpro.bank.enums.KycStatus;
+import com.aurionpro.bank.enums.UploadStatus;
 
 public interface DocumentRepo extends JpaRepository<Document, Long> {
 
     List<Document> findByCustomer(Customer customer);
+
+    Optional<Document> findFirstByContentDigestAndUploadStatus(String contentDigest, UploadStatus uploadStatus);
+
+    // documents, distinct blobs, stored bytes referenced by all documents (image plus thumbnail),
+    // bytes removed by image normalization before storing
+    @Query("SELECT COUNT(d), COUNT(DISTINCT d.contentDigest), "
+            + "COALESCE(SUM(COALESCE(d.storedSize, d.fileSize) + COALESCE(d.thumbnailSize, 0)), 0), "
+            + "COALESCE(SUM(d.fileSize - COALESCE(d.storedSize, d.fileSize)), 0) FROM Document d "
+            + "WHERE d.uploadStatus = com.aurionpro.bank.enums.UploadStatus.STORED AND d.contentDigest IS NOT NULL")
+    List<Object[]> summarizeStoredDocuments();
+
+    // Same sizes counted once per digest, i.e. what the storage backend actually holds
+    @Query(value = "SELECT COALESCE(SUM(blob_size), 0) FROM (SELECT MAX(COALESCE(stored_size, file_size) + COALESCE(thumbnail_size, 0)) "
+            + "AS blob_size FROM documents "
+            + "WHERE upload_status = 'STORED' AND content_digest IS NOT NULL GROUP BY content_digest) blobs",
+            nativeQuery = true)
+    long sumStoredBlobBytes();
+
+    // Rows locked by another reviewer's claim are skipped rather than waited on
+    @Query(value = "SELECT document_id FROM documents "
+            + "WHERE kyc_status = 'PENDING' AND (upload_status IS NULL OR upload_status = 'STORED') "
+            + "AND (lease_expires_at IS NULL OR lease_expires_at < :now) "
+            + "ORDER BY document_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockNextReviewable(LocalDateTime now, int limit);
+
+    // Claimed documents with their customer in the same select, rather than one select per customer
+    @Query("SELECT d FROM Document d JOIN FETCH d.customer WHERE d.documentId IN :documentIds ORDER BY d.documentId")
+    List<Document> findAllWithCustomerByDocumentIdIn(List<Long> documentIds);
+
+    @Modifying
+    @Query("UPDATE Document d SET d.reviewer = :reviewer, d.leaseExpiresAt = :leaseExpiresAt WHERE d.documentId IN :documentIds")
+    int leaseDocuments(List<Long> documentIds, String reviewer, LocalDateTime leaseExpiresAt);
+
+    @Modifying
+    @Query("UPDATE Document d SET d.kycStatus = :kycStatus, d.reviewer = NULL, d.leaseExpiresAt = NULL "
+            + "WHERE d.documentId IN :documentIds AND d.reviewer = :reviewer AND d.leaseExpiresAt >= :now "
+            + "AND d.kycStatus = com.aurionpro.bank.enums.KycStatus.PENDING")
+    int applyVerdict(List<Long> documentIds, KycStatus kycStatus, String reviewer, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Document d SET d.reviewer = NULL, d.leaseExpiresAt = NULL WHERE d.leaseExpiresAt < :now")
+    int releaseExpiredLeases(LocalDateTime now);
 }
@@ -1,7 +1,10 @@
 package com.aurionpro.bank.repo;
 
+import java.util.Collection;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.aurionpro.bank.entity.Customer;
@@ -11,4 +14,13 @@ public interface TransactionRepo extends JpaRepository<Transaction, Long> {
     Page<Transaction> findBySenderAccount_Customer(Customer customer, Pageable pageable);
     Page<Transaction> findByReceiverAccount_Customer(Customer customer, Pageable pageable);
 
+    // The listings read both account numbers; joining them keeps a page at one select instead of one per account.
+    // As a fetch graph it also leaves the accounts' own customer and bank unloaded.
+    @EntityGraph(attributePaths = { "senderAccount", "receiverAccount" })
+    Page<Transaction> findBySenderAccount_AccountIdIn(Collection<Long> accountIds, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "senderAccount", "receiverAccount" })
+    Page<Transaction> findAll(Pageable pageable);
+
 }
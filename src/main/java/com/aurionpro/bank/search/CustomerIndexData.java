@@ -0,0 +1,191 @@
+package com.aurionpro.bank.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// The index itself, not thread safe: CustomerSearchIndex guards it with a read/write lock.
+// Entries sit in an array indexed by customer id, which is dense. Ids are never removed from
+// posting lists; stale ids are filtered out when the candidate is verified.
+final class CustomerIndexData {
+
+    private static final int INTERSECT_WINDOW = 4096;
+
+    // Verifying a candidate costs a few hundred nanoseconds, so broad queries stop after this many
+    private final int maxCandidates;
+    private CustomerSearchEntry[] entries = new CustomerSearchEntry[16];
+    private int customerCount;
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private long postingCount;
+    private long stalePostings;
+
+    CustomerIndexData(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    CustomerSearchEntry get(int customerId) {
+        return customerId >= 0 && customerId < entries.length ? entries[customerId] : null;
+    }
+
+    void put(CustomerSearchEntry entry) {
+        if (entry.customerId >= entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(entry.customerId + 1, entries.length + (entries.length >> 1)));
+        }
+        CustomerSearchEntry previous = entries[entry.customerId];
+        entries[entry.customerId] = entry;
+        if (previous == null) {
+            customerCount++;
+        }
+        Set<String> grams = entry.grams();
+        Set<String> previousGrams = previous == null ? Set.of() : previous.grams();
+        for (String gram : grams) {
+            // A re-added customer may still be listed under a gram from before it was removed
+            if (!previousGrams.contains(gram) && postings.computeIfAbsent(gram, key -> new PostingList()).add(entry.customerId)) {
+                postingCount++;
+            }
+        }
+        for (String gram : previousGrams) {
+            if (!grams.contains(gram)) {
+                stalePostings++;
+            }
+        }
+    }
+
+    void remove(int customerId) {
+        CustomerSearchEntry previous = get(customerId);
+        if (previous != null) {
+            entries[customerId] = null;
+            customerCount--;
+            stalePostings += previous.grams().size();
+        }
+    }
+
+    // Used when merging partitions built in parallel; partitions are merged in id order so lists just append
+    void merge(CustomerIndexData other) {
+        for (CustomerSearchEntry entry : other.entries) {
+            if (entry != null) {
+                if (entry.customerId >= entries.length) {
+                    entries = Arrays.copyOf(entries, Math.max(entry.customerId + 1, other.entries.length));
+                }
+                entries[entry.customerId] = entry;
+                customerCount++;
+            }
+        }
+        other.postings.forEach((gram, list) -> postings.computeIfAbsent(gram, key -> new PostingList()).addAll(list));
+        postingCount += other.postingCount;
+        stalePostings += other.stalePostings;
+    }
+
+    // Fills results and scores, best first; returns true when the query matched more than maxCandidates
+    // customers and stopped early, so a better match may be missing
+    boolean search(List<String> terms, int limit, List<CustomerSearchEntry> results, List<Double> scores) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : terms) {
+            for (String gram : CustomerSearchEntry.queryGrams(term)) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return false;
+                }
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return false;
+        }
+
+        // Walk the shortest list a window at a time, intersecting each window with the other sorted
+        // lists, so broad queries stop once enough candidates were verified instead of copying it whole
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        PostingList shortest = lists.get(0);
+        int[] window = new int[Math.min(shortest.size(), INTERSECT_WINDOW)];
+        PriorityQueue<ScoredEntry> top = new PriorityQueue<>();
+        int verified = 0;
+        boolean truncated = false;
+        for (int start = 0; start < shortest.size() && !truncated; start += window.length) {
+            int count = Math.min(window.length, shortest.size() - start);
+            for (int i = 0; i < count; i++) {
+                window[i] = shortest.get(start + i);
+            }
+            for (int l = 1; l < lists.size() && count > 0; l++) {
+                count = lists.get(l).retainAll(window, count);
+            }
+            for (int i = 0; i < count; i++) {
+                if (verified == maxCandidates) {
+                    truncated = true;
+                    break;
+                }
+                verified++;
+                CustomerSearchEntry entry = get(window[i]);
+                if (entry == null) {
+                    continue;
+                }
+                double score = entry.score(terms);
+                if (score == 0) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(new ScoredEntry(entry, score));
+                } else if (score > top.peek().score) {
+                    top.poll();
+                    top.add(new ScoredEntry(entry, score));
+                }
+            }
+        }
+
+        List<ScoredEntry> ranked = new ArrayList<>(top);
+        ranked.sort((a, b) -> b.compareTo(a));
+        for (ScoredEntry scored : ranked) {
+            results.add(scored.entry);
+            scores.add(scored.score);
+        }
+        return truncated;
+    }
+
+    int customerCount() {
+        return customerCount;
+    }
+
+    int gramCount() {
+        return postings.size();
+    }
+
+    long postingCount() {
+        return postingCount;
+    }
+
+    long stalePostings() {
+        return stalePostings;
+    }
+
+    long estimatedEntryBytes() {
+        long bytes = 16 + 4L * entries.length;
+        for (CustomerSearchEntry entry : entries) {
+            if (entry != null) {
+                bytes += entry.estimatedBytes();
+            }
+        }
+        return bytes;
+    }
+
+    long estimatedPostingBytes() {
+        long bytes = 0;
+        for (Map.Entry<String, PostingList> posting : postings.entrySet()) {
+            bytes += 32 + 8 + CustomerSearchEntry.stringBytes(posting.getKey()) + posting.getValue().estimatedBytes();
+        }
+        return bytes;
+    }
+
+    private record ScoredEntry(CustomerSearchEntry entry, double score) implements Comparable<ScoredEntry> {
+        // Lower score first so the heap drops the weakest match; ties prefer the older customer
+        @Override
+        public int compareTo(ScoredEntry other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.entry.customerId, entry.customerId);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.aurionpro.bank.search;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.aurionpro.bank.entity.Account;
+import com.aurionpro.bank.entity.Customer;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA listener on Customer and Account. Index changes are deferred until the transaction
+// commits so a rollback never leaves a phantom customer searchable.
+@Component
+public class CustomerIndexListener {
+
+    private final CustomerSearchIndex searchIndex;
+
+    public CustomerIndexListener(@Lazy CustomerSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    public void persisted(Object entity) {
+        if (entity instanceof Customer customer) {
+            upsert(customer);
+        } else if (entity instanceof Account account && account.getCustomer() != null) {
+            int customerId = account.getCustomer().getCustomerId();
+            String accountNumber = account.getAccountNumber();
+            afterCommit(() -> searchIndex.addAccount(customerId, accountNumber));
+        }
+    }
+
+    // Account updates are balance and status changes; its number is not updatable, so there is nothing to reindex
+    @PostUpdate
+    public void updated(Object entity) {
+        if (entity instanceof Customer customer) {
+            upsert(customer);
+        }
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof Customer customer) {
+            int customerId = customer.getCustomerId();
+            afterCommit(() -> searchIndex.removeCustomer(customerId));
+        }
+    }
+
+    private void upsert(Customer customer) {
+        int customerId = customer.getCustomerId();
+        String firstName = customer.getFirstName();
+        String lastName = customer.getLastName();
+        String email = customer.getEmail();
+        afterCommit(() -> searchIndex.upsertCustomer(customerId, firstName, lastName, email));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.aurionpro.bank.search;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Immutable view of one customer as held by the search index. Lower-cased copies are only
+// kept when they differ from the original, which for most emails and account numbers they don't.
+final class CustomerSearchEntry {
+
+    private static final String[] NO_ACCOUNTS = new String[0];
+
+    final int customerId;
+    final String firstName;
+    final String lastName;
+    final String email;
+    final String[] accountNumbers;
+    private final String firstNameKey;
+    private final String lastNameKey;
+    private final String emailKey;
+
+    CustomerSearchEntry(int customerId, String firstName, String lastName, String email, String[] accountNumbers) {
+        this.customerId = customerId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.accountNumbers = accountNumbers == null ? NO_ACCOUNTS : accountNumbers;
+        this.firstNameKey = key(firstName);
+        this.lastNameKey = key(lastName);
+        this.emailKey = key(email);
+    }
+
+    CustomerSearchEntry withAccount(String accountNumber) {
+        if (Arrays.asList(accountNumbers).contains(accountNumber)) {
+            return this;
+        }
+        String[] accounts = Arrays.copyOf(accountNumbers, accountNumbers.length + 1);
+        accounts[accountNumbers.length] = accountNumber;
+        return new CustomerSearchEntry(customerId, firstName, lastName, email, accounts);
+    }
+
+    CustomerSearchEntry withProfile(String firstName, String lastName, String email) {
+        return new CustomerSearchEntry(customerId, firstName, lastName, email, accountNumbers);
+    }
+
+    // Every trigram of every field, plus "^x" and "^xy" start-of-field keys for one and two letter queries
+    Set<String> grams() {
+        Set<String> grams = new HashSet<>();
+        addGrams(grams, firstNameKey);
+        addGrams(grams, lastNameKey);
+        addGrams(grams, emailKey);
+        for (String accountNumber : accountNumbers) {
+            addGrams(grams, accountNumber);
+        }
+        return grams;
+    }
+
+    // Each term has to hit at least one field; exact and prefix hits rank above substring hits
+    double score(List<String> terms) {
+        double total = 0;
+        for (String term : terms) {
+            double best = Math.max(fieldScore(firstNameKey, term), fieldScore(lastNameKey, term));
+            best = Math.max(best, 0.8 * fieldScore(emailKey, term));
+            for (String accountNumber : accountNumbers) {
+                best = Math.max(best, fieldScore(accountNumber, term));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    long estimatedBytes() {
+        // object header and fields, then the strings that are not shared with the originals
+        long bytes = 48 + stringBytes(firstName) + stringBytes(lastName) + stringBytes(email);
+        bytes += firstNameKey == firstName ? 0 : stringBytes(firstNameKey);
+        bytes += lastNameKey == lastName ? 0 : stringBytes(lastNameKey);
+        bytes += emailKey == email ? 0 : stringBytes(emailKey);
+        bytes += 16 + 4L * accountNumbers.length;
+        for (String accountNumber : accountNumbers) {
+            bytes += stringBytes(accountNumber);
+        }
+        return bytes;
+    }
+
+    static List<String> queryGrams(String term) {
+        if (term.length() < 3) {
+            return List.of("^" + term);
+        }
+        String[] grams = new String[term.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = term.substring(i, i + 3);
+        }
+        return Arrays.asList(grams);
+    }
+
+    static long stringBytes(String value) {
+        // compact Latin-1 string: header, hash and coder fields, plus the backing byte array
+        return value == null ? 0 : 24 + 16 + value.length();
+    }
+
+    private static void addGrams(Set<String> grams, String field) {
+        if (field == null || field.isEmpty()) {
+            return;
+        }
+        grams.add("^" + field.charAt(0));
+        if (field.length() >= 2) {
+            grams.add("^" + field.substring(0, 2));
+        }
+        for (int i = 0; i + 3 <= field.length(); i++) {
+            grams.add(field.substring(i, i + 3));
+        }
+    }
+
+    private static double fieldScore(String field, String term) {
+        if (field == null) {
+            return 0;
+        }
+        if (field.equals(term)) {
+            return 100;
+        }
+        if (field.startsWith(term)) {
+            return 60;
+        }
+        return term.length() >= 3 && field.contains(term) ? 20 : 0;
+    }
+
+    private static String key(String value) {
+        if (value == null) {
+            return null;
+        }
+        String lower = value.toLowerCase(Locale.ROOT);
+        return lower.equals(value) ? value : lower;
+    }
+}
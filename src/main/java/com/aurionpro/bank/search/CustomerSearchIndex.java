@@ -0,0 +1,239 @@
+package com.aurionpro.bank.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.aurionpro.bank.dto.CustomerSearchResult;
+import com.aurionpro.bank.dto.SearchIndexStats;
+
+// In-memory trigram index over customer names, emails and account numbers.
+// Built once the application is up by scanning customer id ranges in parallel, then kept
+// current by CustomerIndexListener. Changes arriving mid-build are replayed onto the new index.
+@Component
+public class CustomerSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int partitions;
+    private final double rebuildStaleRatio;
+    private final int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Counted under the read lock, so concurrent searches must not contend on it
+    private final LongAdder truncatedSearches = new LongAdder();
+    private final List<Consumer<CustomerIndexData>> pendingChanges = new ArrayList<>();
+    private CustomerIndexData data;
+    private boolean building;
+    private long lastBuildMillis;
+    private LocalDateTime lastBuiltAt;
+
+    public CustomerSearchIndex(JdbcTemplate jdbcTemplate,
+            @Value("${app.customer-search.build-partitions:0}") int partitions,
+            @Value("${app.customer-search.rebuild-stale-ratio:0.25}") double rebuildStaleRatio,
+            @Value("${app.customer-search.max-candidates:5000}") int maxCandidates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitions = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        this.rebuildStaleRatio = rebuildStaleRatio;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        startRebuild();
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return data != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns null until the first build has finished
+    public List<CustomerSearchResult> search(List<String> terms, int limit) {
+        lock.readLock().lock();
+        try {
+            if (data == null) {
+                return null;
+            }
+            List<CustomerSearchEntry> entries = new ArrayList<>(limit);
+            List<Double> scores = new ArrayList<>(limit);
+            if (data.search(terms, limit, entries, scores)) {
+                truncatedSearches.increment();
+                logger.debug("Customer search {} matched more than {} candidates, results may be incomplete", terms, maxCandidates);
+            }
+            List<CustomerSearchResult> results = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                CustomerSearchEntry entry = entries.get(i);
+                results.add(new CustomerSearchResult(entry.customerId, entry.firstName, entry.lastName, entry.email,
+                        Arrays.asList(entry.accountNumbers), scores.get(i)));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void upsertCustomer(int customerId, String firstName, String lastName, String email) {
+        apply(index -> {
+            CustomerSearchEntry existing = index.get(customerId);
+            index.put(existing == null
+                    ? new CustomerSearchEntry(customerId, firstName, lastName, email, null)
+                    : existing.withProfile(firstName, lastName, email));
+        });
+    }
+
+    public void addAccount(int customerId, String accountNumber) {
+        apply(index -> {
+            CustomerSearchEntry existing = index.get(customerId);
+            if (existing != null) {
+                index.put(existing.withAccount(accountNumber));
+            }
+        });
+    }
+
+    public void removeCustomer(int customerId) {
+        apply(index -> index.remove(customerId));
+    }
+
+    public SearchIndexStats getStats() {
+        lock.readLock().lock();
+        try {
+            if (data == null) {
+                return new SearchIndexStats(false, building, 0, 0, 0, 0, 0, 0, 0, lastBuildMillis, lastBuiltAt,
+                        truncatedSearches.sum());
+            }
+            long entryBytes = data.estimatedEntryBytes();
+            long postingBytes = data.estimatedPostingBytes();
+            return new SearchIndexStats(true, building, data.customerCount(), data.gramCount(), data.postingCount(),
+                    data.stalePostings(), entryBytes, postingBytes, entryBytes + postingBytes, lastBuildMillis, lastBuiltAt,
+                    truncatedSearches.sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                return;
+            }
+            building = true;
+            pendingChanges.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Thread builder = new Thread(this::rebuild, "customer-search-index");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        try {
+            CustomerIndexData built = load();
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(change -> change.accept(built));
+                pendingChanges.clear();
+                data = built;
+                lastBuildMillis = (System.nanoTime() - started) / 1_000_000;
+                lastBuiltAt = LocalDateTime.now();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Customer search index built: {} customers, {} grams, {} postings in {} ms",
+                    built.customerCount(), built.gramCount(), built.postingCount(), lastBuildMillis);
+        } catch (RuntimeException e) {
+            logger.error("Error building customer search index", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                building = false;
+                pendingChanges.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private CustomerIndexData load() {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(customer_id) AS min_id, MAX(customer_id) AS max_id FROM customers");
+        CustomerIndexData merged = new CustomerIndexData(maxCandidates);
+        if (bounds.get("min_id") == null) {
+            return merged;
+        }
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+        long span = (maxId - minId) / partitions + 1;
+
+        // Each partition is an independent id range; merging them in order keeps every posting list sorted
+        List<CustomerIndexData> parts = IntStream.range(0, partitions)
+                .parallel()
+                .mapToObj(i -> loadRange(minId + i * span, Math.min(maxId, minId + (i + 1) * span - 1)))
+                .collect(Collectors.toList());
+        parts.forEach(merged::merge);
+        return merged;
+    }
+
+    private CustomerIndexData loadRange(long fromId, long toId) {
+        CustomerIndexData part = new CustomerIndexData(maxCandidates);
+        if (fromId > toId) {
+            return part;
+        }
+        Map<Integer, List<String>> accounts = new HashMap<>();
+        jdbcTemplate.query("SELECT customer_id, account_number FROM accounts WHERE customer_id BETWEEN ? AND ?",
+                rs -> {
+                    accounts.computeIfAbsent(rs.getInt(1), id -> new ArrayList<>(1)).add(rs.getString(2));
+                }, fromId, toId);
+        jdbcTemplate.query("SELECT customer_id, first_name, last_name, email FROM customers WHERE customer_id BETWEEN ? AND ? ORDER BY customer_id",
+                rs -> {
+                    int customerId = rs.getInt(1);
+                    List<String> accountNumbers = accounts.get(customerId);
+                    part.put(new CustomerSearchEntry(customerId, rs.getString(2), rs.getString(3), rs.getString(4),
+                            accountNumbers == null ? null : accountNumbers.toArray(new String[0])));
+                }, fromId, toId);
+        return part;
+    }
+
+    private void apply(Consumer<CustomerIndexData> change) {
+        boolean rebuild = false;
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                pendingChanges.add(change);
+            }
+            if (data != null) {
+                change.accept(data);
+                rebuild = !building && data.stalePostings() > rebuildStaleRatio * data.postingCount();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rebuild) {
+            logger.info("Customer search index has too many stale postings, rebuilding");
+            startRebuild();
+        }
+    }
+}
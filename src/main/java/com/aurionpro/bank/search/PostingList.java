@@ -0,0 +1,92 @@
+package com.aurionpro.bank.search;
+
+import java.util.Arrays;
+
+// Growable int array of customer ids; avoids boxing a million Integers per popular gram.
+// Lists are kept strictly increasing, which lets queries intersect them by galloping search and
+// means they hold no duplicates. New customers have the highest id and append; only a profile
+// change on an older customer pays for shifting the tail.
+final class PostingList {
+
+    private int[] ids = new int[4];
+    private int size;
+
+    // Returns false if the id was already listed
+    boolean add(int id) {
+        int at = size;
+        if (size > 0 && id <= ids[size - 1]) {
+            int found = Arrays.binarySearch(ids, 0, size, id);
+            if (found >= 0) {
+                return false;
+            }
+            at = -found - 1;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+        System.arraycopy(ids, at, ids, at + 1, size - at);
+        ids[at] = id;
+        size++;
+        return true;
+    }
+
+    // Partitions are merged in id order and simply append; anything else is merged in place of the old array
+    void addAll(PostingList other) {
+        if (size == 0 || other.size == 0 || other.ids[0] > ids[size - 1]) {
+            if (size + other.size > ids.length) {
+                ids = Arrays.copyOf(ids, size + other.size);
+            }
+            System.arraycopy(other.ids, 0, ids, size, other.size);
+            size += other.size;
+            return;
+        }
+        int[] merged = new int[size + other.size];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < size || j < other.size) {
+            int next = j == other.size || (i < size && ids[i] <= other.ids[j]) ? ids[i++] : other.ids[j++];
+            if (n == 0 || merged[n - 1] != next) {
+                merged[n++] = next;
+            }
+        }
+        ids = merged;
+        size = n;
+    }
+
+    int get(int index) {
+        return ids[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Keeps the ids of candidates[0..count) that also appear in this list; candidates must be sorted
+    int retainAll(int[] candidates, int count) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < size; i++) {
+            int id = candidates[i];
+            int step = 1;
+            int hi = from;
+            while (hi < size && ids[hi] < id) {
+                from = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(ids, from, Math.min(hi + 1, size), id);
+            if (found >= 0) {
+                candidates[kept++] = id;
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    long estimatedBytes() {
+        return 24 + 16 + 4L * ids.length;
+    }
+}
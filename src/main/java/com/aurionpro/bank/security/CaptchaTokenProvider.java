@@ -0,0 +1,165 @@
+package com.aurionpro.bank.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import io.jsonwebtoken.io.Decoders;
+
+//issues and verifies stateless captcha challenges
+//token = expiry.nonce.hmac(expiry.nonce).hmac(expiry.nonce.answer), so the answer never leaves the server in clear text;
+//the first signature proves the token was issued here before its nonce is spent, whatever the answer
+
+@Component
+public class CaptchaTokenProvider {
+
+	private static final Logger logger = LoggerFactory.getLogger(CaptchaTokenProvider.class);
+
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	// label for deriving the captcha key from the JWT secret when no captcha secret is configured
+	private static final String DERIVED_KEY_LABEL = "aurionpro-bank captcha token v1";
+	private static final int NONCE_BYTES = 16;
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final SecureRandom random = new SecureRandom();
+
+	// nonces of challenges that were already attempted, in two generations each one expiration period long:
+	// a token expires at most one period after it is redeemed, so a nonce only has to outlive the generation
+	// after its own, and dropping the older generation whole replaces scanning for expired entries
+	private final Object rotationLock = new Object();
+	private volatile Set<String> currentNonces = ConcurrentHashMap.newKeySet();
+	private volatile Set<String> previousNonces = ConcurrentHashMap.newKeySet();
+	private volatile long rotateAt;
+
+	private final ThreadLocal<Mac> mac;
+
+	@Value("${app.captcha-expiration-milliseconds:120000}")
+	private long captchaExpiration;
+
+	@Value("${app.captcha-replay-cache-size:10000}")
+	private int replayCacheSize;
+
+	public CaptchaTokenProvider(@Value("${app.captcha-secret:}") String captchaSecret,
+			@Value("${app.jwt-secret}") String jwtSecret) {
+		SecretKeySpec key = new SecretKeySpec(StringUtils.hasText(captchaSecret) ? Decoders.BASE64.decode(captchaSecret)
+				: deriveKey(Decoders.BASE64.decode(jwtSecret)), HMAC_ALGORITHM);
+		this.mac = ThreadLocal.withInitial(() -> {
+			try {
+				Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+				instance.init(key);
+				return instance;
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException("Unable to initialise captcha signer", e);
+			}
+		});
+	}
+
+	public String generateToken(String answer) {
+		byte[] nonceBytes = new byte[NONCE_BYTES];
+		random.nextBytes(nonceBytes);
+
+		String payload = (System.currentTimeMillis() + captchaExpiration) + "." + ENCODER.encodeToString(nonceBytes);
+		return payload + "." + sign(payload) + "." + sign(payload + "." + answer);
+	}
+
+	public boolean validateToken(String token, String answer) {
+		if (!StringUtils.hasText(token) || answer == null) {
+			return false;
+		}
+
+		String[] parts = token.split("\\.");
+		if (parts.length != 4) {
+			return false;
+		}
+
+		long expiry;
+		try {
+			expiry = Long.parseLong(parts[0]);
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		long now = System.currentTimeMillis();
+		if (expiry < now) {
+			return false;
+		}
+
+		String payload = parts[0] + "." + parts[1];
+		if (!signatureMatches(payload, parts[2])) {
+			return false;
+		}
+
+		// every attempt spends the challenge, so a wrong answer cannot be followed by another guess
+		if (!redeem(parts[1], now)) {
+			return false;
+		}
+		return signatureMatches(payload + "." + answer, parts[3]);
+	}
+
+	private boolean signatureMatches(String data, String signature) {
+		byte[] actual;
+		try {
+			actual = DECODER.decode(signature);
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+		return MessageDigest.isEqual(DECODER.decode(sign(data)), actual);
+	}
+
+	private boolean redeem(String nonce, long now) {
+		if (now >= rotateAt) {
+			rotate(now);
+		}
+		Set<String> current = currentNonces;
+		if (previousNonces.contains(nonce)) {
+			return false;
+		}
+		// more attempts in one period than the cache holds is a flood; refusing them keeps memory bounded
+		if (current.size() >= replayCacheSize) {
+			logger.warn("Captcha replay cache is full ({} attempts this period), rejecting captcha", replayCacheSize);
+			return false;
+		}
+		return current.add(nonce);
+	}
+
+	private void rotate(long now) {
+		synchronized (rotationLock) {
+			if (now < rotateAt) {
+				return;
+			}
+			previousNonces = currentNonces;
+			currentNonces = ConcurrentHashMap.newKeySet();
+			rotateAt = now + captchaExpiration;
+		}
+	}
+
+	private String sign(String data) {
+		byte[] signature = mac.get().doFinal(data.getBytes(StandardCharsets.UTF_8));
+		return ENCODER.encodeToString(signature);
+	}
+
+	// HMAC of a fixed label under the JWT secret: a captcha signature can never double as a JWT one
+	private static byte[] deriveKey(byte[] jwtSecret) {
+		try {
+			Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+			instance.init(new SecretKeySpec(jwtSecret, HMAC_ALGORITHM));
+			return instance.doFinal(DERIVED_KEY_LABEL.getBytes(StandardCharsets.UTF_8));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to derive captcha key", e);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.aurionpro.bank.security;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.aurionpro.bank.exception.CustomerServiceException;
+import com.aurionpro.bank.exception.UserApiException;
+import com.aurionpro.bank.repo.CustomerAccountRow;
+import com.aurionpro.bank.repo.CustomerRepo;
+
+// The customer behind the current request's JWT, with the ids of the accounts they own.
+// Resolved with one query on first use and shared by everything the request touches, so
+// ownership checks are id comparisons instead of Customer entity loads.
+@Component
+@RequestScope
+public class CustomerContext {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerContext.class);
+
+    private final CustomerRepo customerRepo;
+
+    private boolean resolved;
+    private int customerId;
+    private String email;
+    private Map<String, Long> accountIdsByNumber;
+    private Set<Long> accountIds;
+
+    public CustomerContext(CustomerRepo customerRepo) {
+        this.customerRepo = customerRepo;
+    }
+
+    public int getCustomerId() {
+        resolve();
+        return customerId;
+    }
+
+    public String getEmail() {
+        resolve();
+        return email;
+    }
+
+    public Set<Long> getAccountIds() {
+        resolve();
+        return accountIds;
+    }
+
+    public boolean ownsAccount(Long accountId) {
+        resolve();
+        return accountId != null && accountIds.contains(accountId);
+    }
+
+    public boolean ownsAccountNumber(String accountNumber) {
+        resolve();
+        return accountIdsByNumber.containsKey(accountNumber);
+    }
+
+    // Endpoints still accept the username/customerId parameters older clients send; they must name the token's customer
+    public void checkUsername(String username) {
+        if (username != null && !username.equalsIgnoreCase(getEmail())) {
+            logger.warn("Customer {} sent a request on behalf of {}", getEmail(), username);
+            throw new UserApiException(HttpStatus.FORBIDDEN, "Access denied.");
+        }
+    }
+
+    public void checkCustomerId(Integer requestedCustomerId) {
+        if (requestedCustomerId != null && requestedCustomerId != getCustomerId()) {
+            logger.warn("Customer {} sent a request on behalf of customer id {}", getEmail(), requestedCustomerId);
+            throw new UserApiException(HttpStatus.FORBIDDEN, "Access denied.");
+        }
+    }
+
+    private void resolve() {
+        if (resolved) {
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UserApiException(HttpStatus.UNAUTHORIZED, "Not authenticated.");
+        }
+
+        List<CustomerAccountRow> rows = customerRepo.findAccountRowsByEmail(authentication.getName());
+        if (rows.isEmpty()) {
+            throw new CustomerServiceException("Customer not found");
+        }
+        Map<String, Long> accounts = new HashMap<>();
+        for (CustomerAccountRow row : rows) {
+            if (row.getAccountId() != null) {
+                accounts.put(row.getAccountNumber(), row.getAccountId());
+            }
+        }
+        customerId = rows.get(0).getCustomerId();
+        email = rows.get(0).getEmail();
+        accountIdsByNumber = Collections.unmodifiableMap(accounts);
+        accountIds = Set.copyOf(accounts.values());
+        resolved = true;
+        logger.debug("Resolved customer context for {}: id {}, {} accounts", email, customerId, accounts.size());
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import com.aurionpro.bank.exception.UserApiException;
+import com.aurionpro.bank.jfr.JwtValidationEvent;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -68,8 +69,12 @@ public class JwtTokenProvider {
 	
 	
 	public boolean validateToken(String token){
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+        boolean valid = false;
         try{
           Jwts.parser().verifyWith(key()).build().parse(token);
+            valid = true;
             return true;
         } catch (MalformedJwtException ex) {
             throw new UserApiException(HttpStatus.BAD_REQUEST, "Invalid JWT token");
@@ -83,6 +88,12 @@ public class JwtTokenProvider {
         catch(Exception e)
         {
           throw new UserApiException(HttpStatus.BAD_REQUEST, "Invalid Credentials");
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.valid = valid;
+                event.commit();
+            }
         }
     }
 	
@@ -0,0 +1,176 @@
+package com.aurionpro.bank.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.aurionpro.bank.dto.AccountNumberCapacity;
+import com.aurionpro.bank.entity.AccountNumberBlock;
+import com.aurionpro.bank.repo.AccountNumberBlockRepo;
+
+// Hands out unique 10-digit account numbers of the form 0<2-digit bank prefix><6-digit serial><Luhn check digit>.
+// Serials are reserved from the database in blocks (hi/lo), so each node only touches the
+// account_number_blocks row once per block and hands numbers out of memory in between.
+// Numbers issued before the allocator existed are random 10-digit strings without a check digit, drawn
+// from 1000000000-9999999998; the leading 0 keeps the two kinds apart. The Luhn digit alone cannot, since
+// about one legacy number in ten happens to carry a valid one.
+// Capacity is therefore fixed at 1,000,000 serials per prefix, and banks whose ids agree mod 100 share a prefix.
+// Reserved blocks not used up before a restart are lost, so each restart costs up to block-size serials per prefix.
+// Remaining capacity is reported by getCapacity() and logged at WARN once a prefix is down to its last 10%.
+@Component
+public class AccountNumberAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountNumberAllocator.class);
+
+    public static final int ACCOUNT_NUMBER_LENGTH = 10;
+
+    static final long MAX_SERIAL = 999_999L;
+    static final long LOW_CAPACITY_SERIALS = (MAX_SERIAL + 1) / 10;
+    private static final int MAX_RESERVATION_ATTEMPTS = 3;
+
+    private final AccountNumberBlockRepo blockRepo;
+    private final TransactionTemplate reservationTransaction;
+    private final int blockSize;
+    private final Map<String, AtomicReference<Block>> blocks = new ConcurrentHashMap<>();
+
+    public AccountNumberAllocator(AccountNumberBlockRepo blockRepo, PlatformTransactionManager transactionManager,
+            @Value("${app.account-number.block-size:100}") int blockSize) {
+        this.blockRepo = blockRepo;
+        this.blockSize = blockSize;
+        // Reservations commit on their own so a rolled back caller never hands the same block out twice
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String nextAccountNumber(long bankId) {
+        String prefix = prefixFor(bankId);
+        AtomicReference<Block> current = blocks.computeIfAbsent(prefix, key -> new AtomicReference<>(Block.EXHAUSTED));
+        while (true) {
+            Block block = current.get();
+            long serial = block.next.getAndIncrement();
+            if (serial < block.end) {
+                String accountNumber = withCheckDigit(prefix + String.format("%06d", serial));
+                logger.debug("Allocated account number: {}", accountNumber);
+                return accountNumber;
+            }
+            // Only the thread that finds the block empty takes the lock; the rest retry on the fresh block
+            synchronized (current) {
+                if (current.get() == block) {
+                    current.set(reserveBlock(prefix));
+                }
+            }
+        }
+    }
+
+    // Read from the block rows, so it covers the serials reserved by every node
+    public List<AccountNumberCapacity> getCapacity() {
+        return blockRepo.findAll().stream()
+                .map(row -> {
+                    long reserved = Math.min(row.getNextHi() * blockSize, MAX_SERIAL + 1);
+                    return new AccountNumberCapacity(row.getPrefix(), reserved, MAX_SERIAL + 1 - reserved, MAX_SERIAL + 1);
+                })
+                .toList();
+    }
+
+    // Cheap structural check so malformed numbers are rejected before any lookup. Legacy numbers
+    // have no check digit, so for them only the leading digit can be verified.
+    public static boolean isWellFormed(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != ACCOUNT_NUMBER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < ACCOUNT_NUMBER_LENGTH; i++) {
+            if (!Character.isDigit(accountNumber.charAt(i))) {
+                return false;
+            }
+        }
+        if (accountNumber.charAt(0) != '0') {
+            return true;
+        }
+        return luhnDigit(accountNumber.substring(0, ACCOUNT_NUMBER_LENGTH - 1)) == accountNumber.charAt(ACCOUNT_NUMBER_LENGTH - 1) - '0';
+    }
+
+    // The leading 0 is part of the prefix, so it also keys the account_number_blocks row
+    static String prefixFor(long bankId) {
+        return String.format("0%02d", bankId % 100);
+    }
+
+    static String withCheckDigit(String digits) {
+        return digits + luhnDigit(digits);
+    }
+
+    static int luhnDigit(String digits) {
+        int sum = 0;
+        boolean doubleIt = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubleIt) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleIt = !doubleIt;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private Block reserveBlock(String prefix) {
+        // Two nodes may race to create the row for a new prefix; the loser retries and locks it.
+        // A lock wait timeout or deadlock on the row is retried the same way.
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long hi = reservationTransaction.execute(status -> {
+                    AccountNumberBlock row = blockRepo.findForUpdate(prefix)
+                            .orElseGet(() -> new AccountNumberBlock(prefix, 0));
+                    long reserved = row.getNextHi();
+                    row.setNextHi(reserved + 1);
+                    blockRepo.saveAndFlush(row);
+                    return reserved;
+                });
+                long start = hi * blockSize;
+                if (start > MAX_SERIAL) {
+                    logger.error("Account numbers exhausted for prefix {}: all {} serials are reserved", prefix, MAX_SERIAL + 1);
+                    throw new IllegalStateException("Account numbers exhausted for prefix " + prefix);
+                }
+                long end = Math.min(start + blockSize, MAX_SERIAL + 1);
+                logger.info("Reserved account number block {} for prefix {} (serials {}-{})", hi, prefix, start, end - 1);
+                long remaining = MAX_SERIAL + 1 - end;
+                if (remaining < LOW_CAPACITY_SERIALS) {
+                    logger.warn("Account number prefix {} is running out: {} of {} serials left", prefix, remaining, MAX_SERIAL + 1);
+                }
+                return new Block(start, end);
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                if (attempt >= MAX_RESERVATION_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Account number block reservation for prefix {} failed ({}), retrying", prefix,
+                        e.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private static final class Block {
+        private static final Block EXHAUSTED = new Block(0, 0);
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -3,23 +3,35 @@ package com.aurionpro.bank.service;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import com.aurionpro.bank.dto.AccountDto;
+import com.aurionpro.bank.dto.AccountNumberCapacity;
+import com.aurionpro.bank.dto.BulkAccountStatusRequest;
+import com.aurionpro.bank.dto.BulkStatusResult;
 import com.aurionpro.bank.dto.CustomerDto;
+import com.aurionpro.bank.dto.CustomerSummaryDto;
+import com.aurionpro.bank.dto.KeysetPage;
 import com.aurionpro.bank.dto.PageResponse;
 import com.aurionpro.bank.dto.TransactionDto;
 import com.aurionpro.bank.entity.Bank;
-import com.aurionpro.bank.entity.Customer;
 import com.aurionpro.bank.entity.Document;
+import com.aurionpro.bank.enums.CustomerSortField;
 import com.aurionpro.bank.enums.KycStatus;
 
 public interface AdminService {
+    // Upper bound on the UPDATE statements one bulk status request runs, matching the statement budget of the endpoint;
+    // a change that needs more returns complete = false and is finished by repeating the request
+    int MAX_BULK_STATUS_STATEMENTS = 100;
+
     String addCustomer(CustomerDto customerDto);
     String addAccount(AccountDto accountDto);
     String addBank(Bank bank);
-    PageResponse<Customer> viewCustomers(Pageable pageable);
+    KeysetPage<CustomerSummaryDto> viewCustomers(CustomerSortField sortField, Sort.Direction direction, String cursor, int size);
     PageResponse<TransactionDto> viewAllTransactions(Pageable pageable);
     String deleteCustomer(int customerId);
+    BulkStatusResult updateAccountStatus(BulkAccountStatusRequest request);
+    List<AccountNumberCapacity> getAccountNumberCapacity();
 
 
     // Method to update KYC status
@@ -1,8 +1,10 @@
 package com.aurionpro.bank.service;
 
-import java.security.SecureRandom;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -10,14 +12,24 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.aurionpro.bank.dto.AccountDto;
+import com.aurionpro.bank.dto.AccountNumberCapacity;
+import com.aurionpro.bank.dto.BulkAccountStatusRequest;
+import com.aurionpro.bank.dto.BulkStatusResult;
 import com.aurionpro.bank.dto.CustomerDto;
+import com.aurionpro.bank.dto.CustomerSummaryDto;
+import com.aurionpro.bank.dto.KeysetPage;
 import com.aurionpro.bank.dto.PageResponse;
 import com.aurionpro.bank.dto.TransactionDto;
 import com.aurionpro.bank.entity.Account;
@@ -28,16 +40,19 @@ import com.aurionpro.bank.entity.Role;
 import com.aurionpro.bank.entity.Transaction;
 import com.aurionpro.bank.entity.User;
 import com.aurionpro.bank.enums.AccountStatus;
+import com.aurionpro.bank.enums.CustomerSortField;
 import com.aurionpro.bank.enums.KycStatus;
 import com.aurionpro.bank.exception.CustomerServiceException;
 import com.aurionpro.bank.exception.UserApiException;
+import com.aurionpro.bank.reference.ReferenceDataCache;
 import com.aurionpro.bank.repo.AccountRepo;
 import com.aurionpro.bank.repo.BankRepo;
 import com.aurionpro.bank.repo.CustomerRepo;
 import com.aurionpro.bank.repo.DocumentRepo;
-import com.aurionpro.bank.repo.RoleRepo;
 import com.aurionpro.bank.repo.TransactionRepo;
 import com.aurionpro.bank.repo.UserRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -49,14 +64,22 @@ public class AdminServiceImpl implements AdminService {
 
     private final AccountRepo accountRepo;
     private final TransactionRepo transactionRepo;
+    private final AccountNumberAllocator accountNumberAllocator;
     private final BankRepo bankRepo;
-    private final RoleRepo roleRepo;
+    private final ReferenceDataCache referenceDataCache;
     private final UserRepo userRepo;
     private final PasswordEncoder passwordEncoder;
     private final CustomerRepo customerRepo;
     private final MailService mailService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
     @Autowired
     private DocumentRepo documentRepo;
+
+    private static final int MAX_CUSTOMER_PAGE_SIZE = 100;
+
+    @Value("${app.bulk-status.chunk-size:1000}")
+    private int bulkChunkSize;
 	
 	@Override
 	public String addCustomer(CustomerDto customerDto) {
@@ -75,29 +98,28 @@ public class AdminServiceImpl implements AdminService {
 	    // Generate password based on first name and formatted date of birth
 	    String generatedPassword = customerDto.getFirstName().toLowerCase() + "@" + formattedDate;
 	
+	    // Set role for the customer
+	    Role customerRole = referenceDataCache.getRole("ROLE_CUSTOMER");
+	
+	    // Save to User table, the single credential store for customer logins
+	    User user = new User();
+	    user.setUsername(customerDto.getEmail());
+	    user.setPassword(passwordEncoder.encode(generatedPassword)); // Encode generated password
+	    user.setRoles(Collections.singleton(customerRole));
+	
+	    userRepo.save(user);
+	    logger.info("User saved successfully with username: {}", customerDto.getEmail());
+	
 	    Customer customer = new Customer();
 	    customer.setFirstName(customerDto.getFirstName());
 	    customer.setLastName(customerDto.getLastName());
 	    customer.setEmail(customerDto.getEmail());
-	    customer.setPassword(passwordEncoder.encode(generatedPassword)); // Encode generated password
 	    customer.setDateOfBirth(customerDto.getDateOfBirth());
-	
-	    // Set role for the customer
-	    Role customerRole = roleRepo.findByRoleName("ROLE_CUSTOMER")
-	            .orElseThrow(() -> new UserApiException(HttpStatus.BAD_REQUEST, "Role not found."));
+	    customer.setUser(user);
 	
 	    customerRepo.save(customer);
 	    logger.info("Customer saved successfully with email: {}", customerDto.getEmail());
 	
-	    // Save to User table
-	    User user = new User();
-	    user.setUsername(customer.getEmail());
-	    user.setPassword(passwordEncoder.encode(generatedPassword)); // Encode generated password
-	    user.setRoles(Collections.singleton(customerRole));
-	
-	    userRepo.save(user);
-	    logger.info("User saved successfully with username: {}", customer.getEmail());
-	
 	    return "Customer added successfully!";
 	}
 	    
@@ -109,12 +131,11 @@ public class AdminServiceImpl implements AdminService {
 	    Customer customer = customerRepo.findById(accountDto.getCustomerId())
 	            .orElseThrow(() -> new UserApiException(HttpStatus.BAD_REQUEST, "Customer not found."));
 
-	    Bank bank = bankRepo.findById(accountDto.getBankId())
-	            .orElseThrow(() -> new UserApiException(HttpStatus.BAD_REQUEST, "Bank not found."));
+	    Bank bank = referenceDataCache.getBank(accountDto.getBankId());
 
 	    // Create a new account
 	    Account account = new Account();
-	    account.setAccountNumber(generateAccountNumber());
+	    account.setAccountNumber(accountNumberAllocator.nextAccountNumber(accountDto.getBankId()));
 	    account.setBalance(0.0); // Initialize balance to 0.0
 	    account.setStatus(AccountStatus.ACTIVE); // Set status to ACTIVE
 	    account.setCustomer(customer);
@@ -139,18 +160,54 @@ public class AdminServiceImpl implements AdminService {
 
 
     @Override
-    public PageResponse<Customer> viewCustomers(Pageable pageable) {
-        logger.info("Fetching customers with pagination - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<Customer> customerPage = customerRepo.findAll(pageable);
-        logger.debug("Fetched {} customers", customerPage.getNumberOfElements());
-        return new PageResponse<>(
-                customerPage.getContent(),
-                customerPage.getNumber(),
-                customerPage.getSize(),
-                customerPage.getTotalElements(),
-                customerPage.getTotalPages(),
-                customerPage.isLast()
-        );
+    public KeysetPage<CustomerSummaryDto> viewCustomers(CustomerSortField sortField, Sort.Direction direction, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CUSTOMER_PAGE_SIZE));
+        logger.info("Fetching customer summaries - sort: {} {}, size: {}, cursor: {}", sortField, direction, pageSize, cursor != null);
+        List<Object> after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor, sortField, direction);
+
+        // One extra row tells us whether another page exists without counting the table
+        List<CustomerSummaryDto> rows = customerRepo.findSummaries(sortField, direction, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<CustomerSummaryDto> content = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(sortField, direction, content.get(content.size() - 1)) : null;
+        logger.debug("Fetched {} customer summaries", content.size());
+        return new KeysetPage<>(new ArrayList<>(content), pageSize, nextCursor, hasMore);
+    }
+
+    // The cursor carries the sort it was issued for, so it cannot be replayed against a different ordering
+    private String encodeCursor(CustomerSortField sortField, Sort.Direction direction, CustomerSummaryDto last) {
+        List<Object> values = new ArrayList<>();
+        for (String column : sortField.getColumns()) {
+            switch (column) {
+                case "customer_id" -> values.add(last.getCustomerId());
+                case "last_name" -> values.add(last.getLastName());
+                case "first_name" -> values.add(last.getFirstName());
+                case "email" -> values.add(last.getEmail());
+                default -> throw new IllegalStateException("Unknown sort column " + column);
+            }
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new CustomerCursor(sortField, direction, values));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode customer cursor", e);
+        }
+    }
+
+    private List<Object> decodeCursor(String cursor, CustomerSortField sortField, Sort.Direction direction) {
+        try {
+            CustomerCursor decoded = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), CustomerCursor.class);
+            if (decoded.sort() != sortField || decoded.direction() != direction
+                    || decoded.values() == null || decoded.values().size() != sortField.getColumns().size()) {
+                throw new UserApiException(HttpStatus.BAD_REQUEST, "Cursor does not match the requested sort.");
+            }
+            return decoded.values();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new UserApiException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
+    }
+
+    private record CustomerCursor(CustomerSortField sort, Sort.Direction direction, List<Object> values) {
     }
 
     @Override
@@ -159,26 +216,8 @@ public class AdminServiceImpl implements AdminService {
         Page<Transaction> transactionPage = transactionRepo.findAll(pageable);
         logger.debug("Fetched {} transactions", transactionPage.getNumberOfElements());
 
-        // Convert Transaction entities to TransactionDto
         List<TransactionDto> transactionDtos = transactionPage.getContent().stream()
-                .map(transaction -> {
-                    TransactionDto dto = new TransactionDto();
-                    dto.setTransactionId(transaction.getTransactionId());
-                    dto.setTransactionDate(transaction.getTransactionDate());
-                    dto.setTransactionAmount(transaction.getTransactionAmount());
-                    dto.setTransactionType(transaction.getTransactionType());
-                    
-                    // Handle the case where sender and receiver accounts might be null
-                    dto.setSenderAccountNumber(transaction.getSenderAccount() != null 
-                            ? transaction.getSenderAccount().getAccountNumber() 
-                            : null);
-                    
-                    dto.setReceiverAccountNumber(transaction.getReceiverAccount() != null 
-                            ? transaction.getReceiverAccount().getAccountNumber() 
-                            : null);
-                    
-                    return dto;
-                })
+                .map(TransactionMapper::toDto)
                 .collect(Collectors.toList());
 
         return new PageResponse<>(
@@ -199,45 +238,105 @@ public class AdminServiceImpl implements AdminService {
         return "Bank added successfully!";
     }
     
+    @Transactional
     @Override
     public String deleteCustomer(int customerId) {
         logger.info("Deactivating customer with ID: {}", customerId);
         
-        Customer customer = customerRepo.findById(customerId)
-                .orElseThrow(() -> new UserApiException(HttpStatus.BAD_REQUEST, "Customer not found."));
+        if (!customerRepo.existsById(customerId)) {
+            throw new UserApiException(HttpStatus.BAD_REQUEST, "Customer not found.");
+        }
 
-        // Retrieve all accounts associated with this customer
-        List<Account> accounts = accountRepo.findByCustomer(customer);
+        // Set the status of all associated accounts to INACTIVE in one statement
+        int deactivated = accountRepo.setAccountsStatusToInactiveByCustomerId(customerId);
 
-        if (accounts.isEmpty()) {
+        if (deactivated == 0 && !accountRepo.existsByCustomer_CustomerId(customerId)) {
             logger.warn("No accounts found for customer with ID: {}", customerId);
             throw new UserApiException(HttpStatus.BAD_REQUEST, "No accounts found for the customer.");
         }
+        logger.info("{} accounts of customer {} set to INACTIVE.", deactivated, customerId);
 
-        // Set the status of all associated accounts to INACTIVE
-        for (Account account : accounts) {
-            account.setStatus(AccountStatus.INACTIVE);
-            accountRepo.save(account);
-            logger.info("Account with number {} set to INACTIVE.", account.getAccountNumber());
+        return "Customer deactivated successfully!";
+    }
+
+    @Override
+    public BulkStatusResult updateAccountStatus(BulkAccountStatusRequest request) {
+        boolean byCustomers = request.getCustomerIds() != null && !request.getCustomerIds().isEmpty();
+        if (request.getStatus() == null) {
+            throw new UserApiException(HttpStatus.BAD_REQUEST, "Target status is required.");
+        }
+        if (!byCustomers && request.getBankId() == null && request.getMaxBalance() == null) {
+            throw new UserApiException(HttpStatus.BAD_REQUEST, "At least one filter (customerIds, bankId, maxBalance) is required.");
+        }
+        logger.info("Bulk setting accounts to {} - customers: {}, bank: {}, maxBalance: {}", request.getStatus(),
+                byCustomers ? request.getCustomerIds().size() : "any", request.getBankId(), request.getMaxBalance());
+
+        // Large id lists are split so each IN list stays small
+        List<List<Integer>> customerChunks = new ArrayList<>();
+        if (byCustomers) {
+            List<Integer> customerIds = request.getCustomerIds();
+            // Half the statement cap for the chunks leaves room for the extra statements of chunks with many accounts,
+            // and guarantees a repeated request makes progress past the chunks already done
+            int maxCustomerIds = MAX_BULK_STATUS_STATEMENTS / 2 * bulkChunkSize;
+            if (customerIds.size() > maxCustomerIds) {
+                throw new UserApiException(HttpStatus.BAD_REQUEST,
+                        "At most " + maxCustomerIds + " customer ids can be updated in one request.");
+            }
+            for (int i = 0; i < customerIds.size(); i += bulkChunkSize) {
+                customerChunks.add(customerIds.subList(i, Math.min(i + bulkChunkSize, customerIds.size())));
+            }
+        } else {
+            customerChunks.add(null);
         }
 
-        // Optionally, you can also deactivate the customer if needed
-        // customer.setStatus(CustomerStatus.INACTIVE);
-        // customerRepo.save(customer);
-        // logger.info("Customer with ID {} set to INACTIVE.", customerId);
+        int affected = 0;
+        int statements = 0;
+        boolean complete = true;
+        for (List<Integer> customerChunk : customerChunks) {
+            if (statements == MAX_BULK_STATUS_STATEMENTS) {
+                complete = false;
+                break;
+            }
+            StringBuilder sql = new StringBuilder("UPDATE accounts SET status = :status WHERE status <> :status");
+            MapSqlParameterSource params = new MapSqlParameterSource("status", request.getStatus().name())
+                    .addValue("limit", bulkChunkSize);
+            if (customerChunk != null) {
+                sql.append(" AND customer_id IN (:customerIds)");
+                params.addValue("customerIds", customerChunk);
+            }
+            if (request.getBankId() != null) {
+                sql.append(" AND bank_id = :bankId");
+                params.addValue("bankId", request.getBankId());
+            }
+            if (request.getMaxBalance() != null) {
+                sql.append(" AND balance <= :maxBalance");
+                params.addValue("maxBalance", request.getMaxBalance());
+            }
+            // Each statement commits on its own and touches at most bulkChunkSize rows, keeping lock times short
+            sql.append(" LIMIT :limit");
+
+            int updated;
+            do {
+                updated = jdbcTemplate.update(sql.toString(), params);
+                affected += updated;
+                statements++;
+            } while (updated == bulkChunkSize && statements < MAX_BULK_STATUS_STATEMENTS);
+            if (updated == bulkChunkSize) {
+                complete = false;
+                break;
+            }
+        }
 
-        return "Customer deactivated successfully!";
+        logger.info("Bulk status update set {} accounts to {} in {} statements, complete: {}", affected,
+                request.getStatus(), statements, complete);
+        return new BulkStatusResult(affected, statements, complete);
     }
 
-    private String generateAccountNumber() {
-        logger.debug("Generating a new account number.");
-        SecureRandom random = new SecureRandom();
-        long number = random.nextLong(1000000000L, 9999999999L);  // Generate a 10-digit number
-        String accountNumber = String.format("%010d", number); // Format as a 10-digit string
-        logger.debug("Generated account number: {}", accountNumber);
-        return accountNumber;
+    @Override
+    public List<AccountNumberCapacity> getAccountNumberCapacity() {
+        return accountNumberAllocator.getCapacity();
     }
-    
+
     
 
     @Override
@@ -246,6 +345,8 @@ public class AdminServiceImpl implements AdminService {
                 .orElseThrow(() -> new RuntimeException("Document not found"));
 
         document.setKycStatus(kycStatus);
+        document.setReviewer(null);
+        document.setLeaseExpiresAt(null);
         documentRepo.save(document);
     }
 
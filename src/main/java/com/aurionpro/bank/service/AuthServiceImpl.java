@@ -6,7 +6,7 @@ import com.aurionpro.bank.dto.UserDto;
 import com.aurionpro.bank.entity.Role;
 import com.aurionpro.bank.entity.User;
 import com.aurionpro.bank.exception.UserApiException;
-import com.aurionpro.bank.repo.RoleRepo;
+import com.aurionpro.bank.reference.ReferenceDataCache;
 import com.aurionpro.bank.repo.UserRepo;
 import com.aurionpro.bank.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
@@ -29,7 +29,7 @@ public class AuthServiceImpl implements AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
 
     private final UserRepo userRepo;
-    private final RoleRepo roleRepo;
+    private final ReferenceDataCache referenceDataCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
@@ -47,11 +47,7 @@ public class AuthServiceImpl implements AuthService {
         user.setUsername(userDto.getUsername());
         user.setPassword(passwordEncoder.encode(userDto.getPassword()));
 
-        Role roles = roleRepo.findByRoleName("ROLE_ADMIN")
-                .orElseThrow(() -> {
-                    logger.error("Role ROLE_ADMIN not found");
-                    return new UserApiException(HttpStatus.BAD_REQUEST, "Role not found.");
-                });
+        Role roles = referenceDataCache.getRole("ROLE_ADMIN");
         user.setRoles(Collections.singleton(roles));
 
         userRepo.save(user);
@@ -0,0 +1,9 @@
+package com.aurionpro.bank.service;
+
+import com.aurionpro.bank.dto.CaptchaImage;
+import com.aurionpro.bank.dto.CaptchaPoolStats;
+
+public interface CaptchaService {
+    CaptchaImage nextCaptcha();
+    CaptchaPoolStats getPoolStats();
+}
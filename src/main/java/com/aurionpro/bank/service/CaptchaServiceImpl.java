@@ -0,0 +1,127 @@
+package com.aurionpro.bank.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.aurionpro.bank.dto.CaptchaImage;
+import com.aurionpro.bank.dto.CaptchaPoolStats;
+import com.aurionpro.bank.jfr.CaptchaRenderEvent;
+import com.google.code.kaptcha.impl.DefaultKaptcha;
+
+@Service
+public class CaptchaServiceImpl implements CaptchaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaptchaServiceImpl.class);
+
+    // Weight of the latest sample in the demand average
+    private static final double DEMAND_SMOOTHING = 0.3;
+
+    private final DefaultKaptcha defaultKaptcha;
+    private final BlockingQueue<CaptchaImage> pool;
+    private final int capacity;
+    private final int minSize;
+    private final int refillHorizonSeconds;
+    private final int maxRendersPerTick;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong rendered = new AtomicLong();
+
+    private long servedAtLastTick;
+    private long lastTickNanos = System.nanoTime();
+    private volatile double demandPerSecond;
+    private volatile int targetSize;
+
+    public CaptchaServiceImpl(DefaultKaptcha defaultKaptcha,
+            @Value("${app.captcha-pool.capacity:500}") int capacity,
+            @Value("${app.captcha-pool.min-size:20}") int minSize,
+            @Value("${app.captcha-pool.refill-horizon-seconds:10}") int refillHorizonSeconds,
+            @Value("${app.captcha-pool.max-renders-per-tick:50}") int maxRendersPerTick) {
+        this.defaultKaptcha = defaultKaptcha;
+        this.capacity = capacity;
+        this.minSize = Math.min(minSize, capacity);
+        this.refillHorizonSeconds = refillHorizonSeconds;
+        this.maxRendersPerTick = maxRendersPerTick;
+        this.pool = new ArrayBlockingQueue<>(capacity);
+        this.targetSize = this.minSize;
+    }
+
+    @Override
+    public CaptchaImage nextCaptcha() {
+        CaptchaImage captcha = pool.poll();
+        if (captcha != null) {
+            hits.incrementAndGet();
+            return captcha;
+        }
+        // Pool drained faster than the producer could refill it: render on the request thread
+        misses.incrementAndGet();
+        return render(true);
+    }
+
+    @Override
+    public CaptchaPoolStats getPoolStats() {
+        return new CaptchaPoolStats(pool.size(), targetSize, capacity,
+                hits.get(), misses.get(), rendered.get(), demandPerSecond);
+    }
+
+    // Background producer: sizes the pool to cover the recent demand over the refill horizon and tops it up.
+    // It shares the scheduler's few threads with every other @Scheduled job, so one tick renders a bounded
+    // batch and a large shortfall is made up over several ticks.
+    @Scheduled(fixedDelayString = "${app.captcha-pool.refill-interval-milliseconds:1000}")
+    public void refill() {
+        long now = System.nanoTime();
+        long served = hits.get() + misses.get();
+        long sample = served - servedAtLastTick;
+        servedAtLastTick = served;
+        // Measured rather than the configured interval: fixedDelay adds the previous tick's rendering time
+        double elapsedSeconds = Math.max(now - lastTickNanos, 1_000_000L) / 1e9;
+        lastTickNanos = now;
+
+        demandPerSecond = DEMAND_SMOOTHING * (sample / elapsedSeconds) + (1 - DEMAND_SMOOTHING) * demandPerSecond;
+        targetSize = (int) Math.min(capacity, Math.max(minSize, Math.ceil(demandPerSecond * refillHorizonSeconds)));
+
+        int produced = 0;
+        while (produced < maxRendersPerTick && pool.size() < targetSize && pool.offer(render(false))) {
+            produced++;
+        }
+        if (produced > 0) {
+            logger.debug("Captcha pool refilled with {} images, pooled: {}, target: {}", produced, pool.size(), targetSize);
+        }
+    }
+
+    private CaptchaImage render(boolean onRequestThread) {
+        CaptchaRenderEvent event = new CaptchaRenderEvent();
+        event.begin();
+        String text = defaultKaptcha.createText();
+        BufferedImage image = defaultKaptcha.createImage(text);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(8192);
+        try {
+            ImageIO.write(image, "jpg", outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode captcha image", e);
+        }
+        rendered.incrementAndGet();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.onRequestThread = onRequestThread;
+            event.imageSize = outputStream.size();
+            event.commit();
+        }
+        return new CaptchaImage(outputStream.toByteArray(), text);
+    }
+}
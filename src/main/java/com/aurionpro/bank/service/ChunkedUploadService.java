@@ -0,0 +1,13 @@
+package com.aurionpro.bank.service;
+
+import java.io.InputStream;
+
+import com.aurionpro.bank.dto.UploadSessionDto;
+import com.aurionpro.bank.enums.DocumentType;
+
+public interface ChunkedUploadService {
+    UploadSessionDto initiateUpload(Integer customerId, DocumentType documentType, String contentType, long totalSize);
+    UploadSessionDto uploadChunk(String uploadId, int chunkIndex, String checksum, InputStream content);
+    UploadSessionDto getUploadStatus(String uploadId);
+    String completeUpload(String uploadId);
+}
@@ -0,0 +1,297 @@
+package com.aurionpro.bank.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.aurionpro.bank.dto.UploadSessionDto;
+import com.aurionpro.bank.entity.Customer;
+import com.aurionpro.bank.entity.Document;
+import com.aurionpro.bank.enums.DocumentType;
+import com.aurionpro.bank.enums.KycStatus;
+import com.aurionpro.bank.enums.UploadStatus;
+import com.aurionpro.bank.exception.DocumentUploadException;
+import com.aurionpro.bank.repo.CustomerRepo;
+import com.aurionpro.bank.repo.DocumentRepo;
+import com.aurionpro.bank.security.CustomerContext;
+import com.aurionpro.bank.storage.ChunkedUploadSession;
+import com.aurionpro.bank.storage.ChunkedUploadSession.ChunkStart;
+import com.aurionpro.bank.storage.DocumentUploadProcessor;
+import com.aurionpro.bank.storage.SpooledUpload;
+
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadServiceImpl.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final CustomerRepo customerRepo;
+    private final DocumentRepo documentRepo;
+    private final DocumentUploadProcessor documentUploadProcessor;
+    private final CustomerContext customerContext;
+    private final Path chunkDir;
+    private final int chunkSize;
+    private final long maxFileSize;
+    private final long sessionTtlMillis;
+    private final int maxSessionsPerCustomer;
+
+    private final Map<String, ChunkedUploadSession> sessions = new ConcurrentHashMap<>();
+
+    public ChunkedUploadServiceImpl(CustomerRepo customerRepo, DocumentRepo documentRepo,
+            DocumentUploadProcessor documentUploadProcessor, CustomerContext customerContext,
+            @Value("${app.chunked-upload.dir:${java.io.tmpdir}/bank-chunked-uploads}") String chunkDir,
+            @Value("${app.chunked-upload.chunk-size:1048576}") int chunkSize,
+            @Value("${app.chunked-upload.max-file-size:52428800}") long maxFileSize,
+            @Value("${app.chunked-upload.session-ttl-minutes:1440}") long sessionTtlMinutes,
+            @Value("${app.chunked-upload.max-sessions-per-customer:5}") int maxSessionsPerCustomer) {
+        this.customerRepo = customerRepo;
+        this.documentRepo = documentRepo;
+        this.documentUploadProcessor = documentUploadProcessor;
+        this.customerContext = customerContext;
+        this.chunkDir = Paths.get(chunkDir).toAbsolutePath();
+        this.chunkSize = chunkSize;
+        this.maxFileSize = maxFileSize;
+        this.sessionTtlMillis = sessionTtlMinutes * 60_000L;
+        this.maxSessionsPerCustomer = maxSessionsPerCustomer;
+    }
+
+    @Override
+    public UploadSessionDto initiateUpload(Integer customerId, DocumentType documentType, String contentType, long totalSize) {
+        logger.info("Initiating chunked upload for customer: {}, DocumentType: {}, size: {}", customerId, documentType, totalSize);
+
+        // customerId comes from the request's CustomerContext, which already proved the customer exists
+        if (totalSize <= 0 || totalSize > maxFileSize) {
+            throw new DocumentUploadException("File size must be between 1 and " + maxFileSize + " bytes");
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        Path assemblyFile = chunkDir.resolve(uploadId + ".part");
+        ChunkedUploadSession session = new ChunkedUploadSession(uploadId, customerId, documentType, contentType,
+                totalSize, chunkSize, assemblyFile);
+        // Every open session holds a full-size assembly file on disk, so each customer gets only a few.
+        // Counting and adding under one lock keeps concurrent initiations from overshooting the cap.
+        synchronized (sessions) {
+            long open = sessions.values().stream().filter(existing -> existing.getCustomerId() == customerId).count();
+            if (open >= maxSessionsPerCustomer) {
+                throw new DocumentUploadException("Too many uploads in progress; complete or abandon one of the "
+                        + open + " open uploads first");
+            }
+            sessions.put(uploadId, session);
+        }
+
+        try {
+            Files.createDirectories(chunkDir);
+            try (FileChannel channel = FileChannel.open(assemblyFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                // Reserve the full length up front so chunks can land at their offsets in any order
+                channel.write(ByteBuffer.allocate(1), totalSize - 1);
+            }
+        } catch (IOException e) {
+            sessions.remove(uploadId);
+            documentUploadProcessor.deleteSpoolFile(assemblyFile);
+            logger.error("Error creating chunked upload for customer: {}", customerId, e);
+            throw new DocumentUploadException("Error initiating upload", e);
+        }
+        return toDto(session);
+    }
+
+    @Override
+    public UploadSessionDto uploadChunk(String uploadId, int chunkIndex, String checksum, InputStream content) {
+        ChunkedUploadSession session = findSession(uploadId);
+        if (chunkIndex < 0 || chunkIndex >= session.getTotalChunks()) {
+            throw new DocumentUploadException("Chunk index out of range: " + chunkIndex);
+        }
+        if (checksum == null || checksum.isBlank()) {
+            throw new DocumentUploadException("Chunk checksum is required");
+        }
+        session.touch();
+        ChunkStart start = session.beginChunk(chunkIndex);
+        if (start == ChunkStart.COMPLETING) {
+            throw new DocumentUploadException("Upload " + uploadId + " is being completed");
+        }
+        if (start == ChunkStart.ALREADY_IN_FLIGHT) {
+            throw new DocumentUploadException("Chunk " + chunkIndex + " of upload " + uploadId + " is already being uploaded");
+        }
+        boolean verified = false;
+        try {
+            writeChunk(session, chunkIndex, checksum, content);
+            verified = true;
+        } finally {
+            session.endChunk(chunkIndex, verified);
+        }
+        logger.debug("Chunk {} of upload {} received", chunkIndex, uploadId);
+        return toDto(session);
+    }
+
+    private void writeChunk(ChunkedUploadSession session, int chunkIndex, String checksum, InputStream content) {
+        long offset = session.chunkOffset(chunkIndex);
+        long expectedLength = session.chunkLength(chunkIndex);
+        MessageDigest sha256 = newSha256();
+        long written = 0;
+
+        // Positional writes: each chunk goes straight to its offset without touching the other chunks
+        try (FileChannel channel = FileChannel.open(session.getAssemblyFile(), StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[(int) Math.min(WRITE_BUFFER_SIZE, expectedLength)];
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                if (written + read > expectedLength) {
+                    throw new DocumentUploadException("Chunk " + chunkIndex + " is larger than " + expectedLength + " bytes");
+                }
+                sha256.update(buffer, 0, read);
+                byteBuffer.clear().limit(read);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer, offset + written + byteBuffer.position());
+                }
+                written += read;
+            }
+        } catch (IOException e) {
+            logger.error("Error writing chunk {} of upload {}", chunkIndex, session.getUploadId(), e);
+            throw new DocumentUploadException("Error writing chunk " + chunkIndex, e);
+        }
+
+        if (written != expectedLength) {
+            throw new DocumentUploadException("Chunk " + chunkIndex + " must be " + expectedLength + " bytes, received " + written);
+        }
+        if (!HexFormat.of().formatHex(sha256.digest()).equalsIgnoreCase(checksum.trim())) {
+            throw new DocumentUploadException("Checksum mismatch for chunk " + chunkIndex);
+        }
+    }
+
+    @Override
+    public UploadSessionDto getUploadStatus(String uploadId) {
+        return toDto(findSession(uploadId));
+    }
+
+    @Override
+    public String completeUpload(String uploadId) {
+        ChunkedUploadSession session = findSession(uploadId);
+        if (!session.beginCompletion()) {
+            if (session.isCompleting()) {
+                throw new DocumentUploadException("Upload is already being completed");
+            }
+            if (session.chunksInFlight() > 0) {
+                throw new DocumentUploadException("Upload still has " + session.chunksInFlight() + " chunks being written");
+            }
+            throw new DocumentUploadException("Upload is missing " + (session.getTotalChunks() - session.receivedCount()) + " chunks");
+        }
+        sessions.remove(uploadId);
+
+        Customer customer = customerRepo.getReferenceById(session.getCustomerId());
+
+        SpooledUpload upload;
+        try {
+            upload = documentUploadProcessor.digest(session.getAssemblyFile());
+        } catch (IOException e) {
+            logger.error("Error finalizing upload {}", uploadId, e);
+            documentUploadProcessor.deleteSpoolFile(session.getAssemblyFile());
+            throw new DocumentUploadException("Error finalizing upload", e);
+        }
+
+        Document document = new Document();
+        document.setDocumentType(session.getDocumentType());
+        document.setCustomer(customer);
+        document.setKycStatus(KycStatus.PENDING);
+        document.setUploadStatus(UploadStatus.PENDING);
+        document.setContentType(session.getContentType());
+        document.setFileSize(upload.getSize());
+        document.setContentDigest(upload.getDigest());
+        documentRepo.save(document);
+
+        try {
+            documentUploadProcessor.process(document.getDocumentId(), upload);
+        } catch (TaskRejectedException e) {
+            logger.warn("Document upload queue is full, rejecting completion of upload {}", uploadId);
+            // Keep the assembled file so the client can retry the completion
+            session.cancelCompletion();
+            sessions.put(uploadId, session);
+            documentRepo.delete(document);
+            throw new DocumentUploadException("Document upload queue is full, please retry", e);
+        }
+
+        logger.info("Chunked upload {} completed for customer: {}, documentId: {}", uploadId, session.getCustomerId(), document.getDocumentId());
+        return "Document upload accepted with id: " + document.getDocumentId();
+    }
+
+    // Removes sessions nobody has touched within the TTL, and assembly files left behind by a restart
+    @Scheduled(fixedDelayString = "${app.chunked-upload.cleanup-interval-milliseconds:600000}")
+    public void removeAbandonedUploads() {
+        long cutoff = System.currentTimeMillis() - sessionTtlMillis;
+
+        sessions.values().removeIf(session -> {
+            if (session.getLastActivity() < cutoff) {
+                logger.info("Removing abandoned chunked upload {}", session.getUploadId());
+                documentUploadProcessor.deleteSpoolFile(session.getAssemblyFile());
+                return true;
+            }
+            return false;
+        });
+
+        if (!Files.isDirectory(chunkDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(chunkDir, "*.part")) {
+            for (Path file : files) {
+                String uploadId = file.getFileName().toString().replace(".part", "");
+                if (!sessions.containsKey(uploadId) && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    documentUploadProcessor.deleteSpoolFile(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to scan chunked upload directory {}", chunkDir, e);
+        }
+    }
+
+    private ChunkedUploadSession findSession(String uploadId) {
+        ChunkedUploadSession session = sessions.get(uploadId);
+        // Another customer's session is reported as missing rather than forbidden, so upload ids can't be probed
+        if (session == null || session.getCustomerId() != customerContext.getCustomerId()) {
+            throw new DocumentUploadException("Upload session not found: " + uploadId);
+        }
+        return session;
+    }
+
+    private UploadSessionDto toDto(ChunkedUploadSession session) {
+        BitSet received = session.receivedSnapshot();
+        List<String> ranges = new ArrayList<>();
+        int start = received.nextSetBit(0);
+        while (start >= 0) {
+            int end = received.nextClearBit(start);
+            long lastByte = session.chunkOffset(end - 1) + session.chunkLength(end - 1) - 1;
+            ranges.add(session.chunkOffset(start) + "-" + lastByte);
+            start = received.nextSetBit(end);
+        }
+        return new UploadSessionDto(session.getUploadId(), session.getTotalSize(), session.getChunkSize(),
+                session.getTotalChunks(), received.cardinality(), ranges);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
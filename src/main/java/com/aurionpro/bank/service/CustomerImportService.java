@@ -0,0 +1,10 @@
+package com.aurionpro.bank.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.aurionpro.bank.dto.ImportJobStatus;
+
+public interface CustomerImportService {
+    ImportJobStatus startImport(MultipartFile file, String format);
+    ImportJobStatus getImportStatus(String jobId);
+}
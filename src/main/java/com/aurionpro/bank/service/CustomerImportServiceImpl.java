@@ -0,0 +1,488 @@
+package com.aurionpro.bank.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.aurionpro.bank.dto.CustomerDto;
+import com.aurionpro.bank.dto.ImportJobStatus;
+import com.aurionpro.bank.dto.ImportRowError;
+import com.aurionpro.bank.entity.Customer;
+import com.aurionpro.bank.exception.UserApiException;
+import com.aurionpro.bank.reference.ReferenceDataCache;
+import com.aurionpro.bank.search.CustomerSearchIndex;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Streams a CSV (firstName,lastName,email,dateOfBirth) or NDJSON file of customers into the database.
+// Rows are validated and deduplicated in memory, hashed on a parallel pool and written with JDBC batches.
+// CSV follows RFC 4180, so quoted fields may contain commas, doubled quotes and line breaks.
+@Service
+public class CustomerImportServiceImpl implements CustomerImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerImportServiceImpl.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final CsvFactory CSV_FACTORY = new CsvFactory();
+    private static final String PASSWORD_DESCRIPTION = "Your password is formatted as '<FirstName>@<DayOfBirth>'. For example, if your name is John and your birth date is January 1st, your password will be 'john@01'.";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ReferenceDataCache referenceDataCache;
+    private final MailService mailService;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Executor customerImportExecutor;
+    private final Executor passwordHashingExecutor;
+    private final Executor mailExecutor;
+
+    @Value("${app.customer-import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.document-upload.spool-dir:${java.io.tmpdir}/bank-uploads}")
+    private String spoolDir;
+
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    public CustomerImportServiceImpl(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate, PasswordEncoder passwordEncoder, ReferenceDataCache referenceDataCache,
+            MailService mailService, CustomerSearchIndex customerSearchIndex, Validator validator, ObjectMapper objectMapper,
+            @Qualifier("customerImportExecutor") Executor customerImportExecutor,
+            @Qualifier("passwordHashingExecutor") Executor passwordHashingExecutor,
+            @Qualifier("mailExecutor") Executor mailExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.referenceDataCache = referenceDataCache;
+        this.mailService = mailService;
+        this.customerSearchIndex = customerSearchIndex;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.customerImportExecutor = customerImportExecutor;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.mailExecutor = mailExecutor;
+    }
+
+    @Override
+    public ImportJobStatus startImport(MultipartFile file, String format) {
+        String normalizedFormat = format.toLowerCase(Locale.ROOT);
+        if (!normalizedFormat.equals("csv") && !normalizedFormat.equals("ndjson")) {
+            throw new UserApiException(HttpStatus.BAD_REQUEST, "Unsupported import format: " + format);
+        }
+        if (file.isEmpty()) {
+            throw new UserApiException(HttpStatus.BAD_REQUEST, "Import file is empty.");
+        }
+
+        // The multipart file is gone once the request ends, so keep our own copy for the background job
+        Path importFile;
+        try {
+            Path dir = Files.createDirectories(Paths.get(spoolDir));
+            importFile = Files.createTempFile(dir, "customer-import-", "." + normalizedFormat);
+            file.transferTo(importFile.toAbsolutePath().toFile());
+        } catch (IOException e) {
+            logger.error("Error spooling customer import file", e);
+            throw new UserApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to read import file.");
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        jobs.put(job.jobId, job);
+        try {
+            customerImportExecutor.execute(() -> runImport(job, importFile, normalizedFormat));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.jobId);
+            deleteQuietly(importFile);
+            throw new UserApiException(HttpStatus.TOO_MANY_REQUESTS, "Too many imports running, please retry later.");
+        }
+        logger.info("Customer import {} queued ({} bytes, {})", job.jobId, file.getSize(), normalizedFormat);
+        return job.snapshot();
+    }
+
+    @Override
+    public ImportJobStatus getImportStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new UserApiException(HttpStatus.NOT_FOUND, "Import job not found.");
+        }
+        return job.snapshot();
+    }
+
+    private void runImport(ImportJob job, Path importFile, String format) {
+        logger.info("Customer import {} started", job.jobId);
+        job.state = "RUNNING";
+        try (BufferedReader reader = Files.newBufferedReader(importFile, StandardCharsets.UTF_8)) {
+            int customerRoleId = referenceDataCache.getRoleRef("ROLE_CUSTOMER").roleId();
+
+            Set<String> seenEmails = new HashSet<>();
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            RowHandler handler = (rowNumber, customerDto, parseError) -> {
+                job.processedRows.incrementAndGet();
+                if (parseError != null) {
+                    job.recordError(rowNumber, null, parseError);
+                    return;
+                }
+
+                String violation = validate(customerDto);
+                if (violation != null) {
+                    job.recordError(rowNumber, customerDto.getEmail(), violation);
+                    return;
+                }
+                if (!seenEmails.add(customerDto.getEmail().toLowerCase(Locale.ROOT))) {
+                    job.recordError(rowNumber, customerDto.getEmail(), "Duplicate email in import file.");
+                    return;
+                }
+
+                batch.add(new ImportRow(rowNumber, customerDto));
+                if (batch.size() == batchSize) {
+                    writeBatch(job, batch, customerRoleId);
+                    batch.clear();
+                }
+            };
+            if (format.equals("csv")) {
+                readCsv(reader, handler);
+            } else {
+                readNdjson(reader, handler);
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(job, batch, customerRoleId);
+            }
+            job.finish("COMPLETED");
+            logger.info("Customer import {} completed: {} rows, {} imported, {} failed",
+                    job.jobId, job.processedRows.get(), job.importedRows.get(), job.failedRows.get());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Customer import {} failed", job.jobId, e);
+            job.recordError(0, null, "Import aborted: " + e.getMessage());
+            job.finish("FAILED");
+        } finally {
+            deleteQuietly(importFile);
+        }
+    }
+
+    private void writeBatch(ImportJob job, List<ImportRow> rows, int customerRoleId) {
+        // One round trip to find emails that are already registered
+        List<String> emails = rows.stream().map(row -> row.customer.getEmail()).collect(Collectors.toList());
+        MapSqlParameterSource params = new MapSqlParameterSource("emails", emails);
+        Set<String> existing = namedJdbcTemplate.queryForList(
+                "SELECT username FROM users WHERE username IN (:emails) UNION SELECT email FROM customers WHERE email IN (:emails)",
+                params, String.class).stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existing.contains(row.customer.getEmail().toLowerCase(Locale.ROOT))) {
+                job.recordError(row.rowNumber, row.customer.getEmail(), "Customer with this email already exists.");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // BCrypt dominates the cost of onboarding, so it runs on all cores
+        List<CompletableFuture<String>> hashes = accepted.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(generatePassword(row.customer)), passwordHashingExecutor))
+                .collect(Collectors.toList());
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).passwordHash = hashes.get(i).join();
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(accepted, customerRoleId));
+        } catch (RuntimeException e) {
+            logger.warn("Customer import {} batch of {} rows failed", job.jobId, accepted.size(), e);
+            for (ImportRow row : accepted) {
+                job.recordError(row.rowNumber, row.customer.getEmail(), "Batch insert failed: " + e.getMessage());
+            }
+            return;
+        }
+        job.importedRows.addAndGet(accepted.size());
+
+        // JDBC inserts bypass the entity listeners, so the search index is told directly
+        for (ImportRow row : accepted) {
+            if (row.customerId > 0) {
+                customerSearchIndex.upsertCustomer(row.customerId, row.customer.getFirstName(),
+                        row.customer.getLastName(), row.customer.getEmail());
+            }
+        }
+
+        for (ImportRow row : accepted) {
+            String email = row.customer.getEmail();
+            String fullName = row.customer.getFirstName() + " " + row.customer.getLastName();
+            mailExecutor.execute(() -> {
+                try {
+                    mailService.sendWelcomeEmail(email, fullName, PASSWORD_DESCRIPTION);
+                } catch (RuntimeException e) {
+                    logger.warn("Unable to send welcome email to {}", email, e);
+                }
+            });
+        }
+    }
+
+    private void insertBatch(List<ImportRow> rows, int customerRoleId) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement("INSERT INTO users (username, password) VALUES (?, ?)",
+                        Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, rows.get(i).customer.getEmail());
+                        ps.setString(2, rows.get(i).passwordHash);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated user ids, got " + keys.size());
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).userId = ((Number) keys.get(i).values().iterator().next()).longValue();
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", rows, rows.size(),
+                (ps, row) -> {
+                    ps.setLong(1, row.userId);
+                    ps.setInt(2, customerRoleId);
+                });
+
+        KeyHolder customerKeys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(
+                        "INSERT INTO customers (first_name, last_name, email, date_of_birth, user_id) VALUES (?, ?, ?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ImportRow row = rows.get(i);
+                        ps.setString(1, row.customer.getFirstName());
+                        ps.setString(2, row.customer.getLastName());
+                        ps.setString(3, row.customer.getEmail());
+                        ps.setDate(4, Date.valueOf(row.customer.getDateOfBirth()));
+                        ps.setLong(5, row.userId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, customerKeys);
+        List<Map<String, Object>> customerIds = customerKeys.getKeyList();
+        for (int i = 0; i < rows.size() && i < customerIds.size(); i++) {
+            rows.get(i).customerId = ((Number) customerIds.get(i).values().iterator().next()).intValue();
+        }
+    }
+
+    // Receives every record with the line it starts on, and either the parsed customer or why it could not be parsed
+    @FunctionalInterface
+    interface RowHandler {
+        void handle(long rowNumber, CustomerDto customerDto, String parseError);
+    }
+
+    // A malformed quote leaves the rest of the file unreadable, so it aborts the import rather than one row
+    static void readCsv(Reader reader, RowHandler handler) throws IOException {
+        try (CsvParser parser = CSV_FACTORY.createParser(reader)) {
+            parser.enable(CsvParser.Feature.SKIP_EMPTY_LINES);
+            List<String> fields = new ArrayList<>(4);
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                // The array start carries no line number, so the record is numbered by its first field
+                long rowNumber = 0;
+                fields.clear();
+                while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                    if (fields.isEmpty()) {
+                        rowNumber = parser.currentTokenLocation().getLineNr();
+                    }
+                    fields.add(parser.getText());
+                }
+                if (fields.isEmpty() || (fields.size() == 1 && fields.get(0).isBlank())
+                        || (rowNumber == 1 && fields.get(0).trim().toLowerCase(Locale.ROOT).startsWith("firstname"))) {
+                    continue;
+                }
+                CustomerDto customerDto;
+                try {
+                    customerDto = toCustomer(fields);
+                } catch (RuntimeException e) {
+                    handler.handle(rowNumber, null, "Unable to parse row: " + e.getMessage());
+                    continue;
+                }
+                handler.handle(rowNumber, customerDto, null);
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, RowHandler handler) throws IOException {
+        String line;
+        long rowNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            CustomerDto customerDto;
+            try {
+                customerDto = objectMapper.readValue(line, CustomerDto.class);
+            } catch (IOException | RuntimeException e) {
+                handler.handle(rowNumber, null, "Unable to parse row: " + e.getMessage());
+                continue;
+            }
+            handler.handle(rowNumber, customerDto, null);
+        }
+    }
+
+    private static CustomerDto toCustomer(List<String> fields) {
+        if (fields.size() != 4) {
+            throw new IllegalArgumentException("expected 4 columns, found " + fields.size());
+        }
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setFirstName(fields.get(0).trim());
+        customerDto.setLastName(fields.get(1).trim());
+        customerDto.setEmail(fields.get(2).trim());
+        customerDto.setDateOfBirth(LocalDate.parse(fields.get(3).trim()));
+        return customerDto;
+    }
+
+    // Checks both the request DTO and the entity constraints, since rows bypass JPA validation
+    private String validate(CustomerDto customerDto) {
+        Set<ConstraintViolation<CustomerDto>> dtoViolations = validator.validate(customerDto);
+        if (!dtoViolations.isEmpty()) {
+            return describe(dtoViolations);
+        }
+        Customer customer = new Customer();
+        customer.setFirstName(customerDto.getFirstName());
+        customer.setLastName(customerDto.getLastName());
+        customer.setEmail(customerDto.getEmail());
+        customer.setDateOfBirth(customerDto.getDateOfBirth());
+        Set<ConstraintViolation<Customer>> entityViolations = validator.validate(customer);
+        return entityViolations.isEmpty() ? null : describe(entityViolations);
+    }
+
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Same format as AdminServiceImpl.addCustomer: <firstname>@<day of birth>
+    private static String generatePassword(CustomerDto customerDto) {
+        return customerDto.getFirstName().toLowerCase() + "@" + customerDto.getDateOfBirth().format(DateTimeFormatter.ofPattern("dd"));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Unable to delete import file {}", file, e);
+        }
+    }
+
+    private static class ImportRow {
+        private final long rowNumber;
+        private final CustomerDto customer;
+        private String passwordHash;
+        private long userId;
+        private int customerId;
+
+        private ImportRow(long rowNumber, CustomerDto customer) {
+            this.rowNumber = rowNumber;
+            this.customer = customer;
+        }
+    }
+
+    private static class ImportJob {
+        private final String jobId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile String state = "QUEUED";
+        private final AtomicLong processedRows = new AtomicLong();
+        private final AtomicLong importedRows = new AtomicLong();
+        private final AtomicLong failedRows = new AtomicLong();
+        private final List<ImportRowError> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private ImportJob(String jobId) {
+            this.jobId = jobId;
+        }
+
+        private void recordError(long rowNumber, String email, String message) {
+            failedRows.incrementAndGet();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(rowNumber, email, message));
+            }
+        }
+
+        private void finish(String finalState) {
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        private ImportJobStatus snapshot() {
+            List<ImportRowError> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = new ArrayList<>(errors);
+            }
+            return new ImportJobStatus(jobId, state, startedAt, finishedAt, processedRows.get(),
+                    importedRows.get(), failedRows.get(), errorsCopy);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.aurionpro.bank.service;
+
+import java.util.List;
+
+import com.aurionpro.bank.dto.CustomerSearchResult;
+import com.aurionpro.bank.dto.SearchIndexStats;
+
+public interface CustomerSearchService {
+    List<CustomerSearchResult> searchCustomers(String query, int limit);
+    SearchIndexStats getIndexStats();
+}
@@ -0,0 +1,56 @@
+package com.aurionpro.bank.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.aurionpro.bank.dto.CustomerSearchResult;
+import com.aurionpro.bank.dto.SearchIndexStats;
+import com.aurionpro.bank.exception.UserApiException;
+import com.aurionpro.bank.search.CustomerSearchIndex;
+
+@Service
+public class CustomerSearchServiceImpl implements CustomerSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSearchServiceImpl.class);
+
+    private final CustomerSearchIndex searchIndex;
+    private final int maxResults;
+
+    public CustomerSearchServiceImpl(CustomerSearchIndex searchIndex,
+            @Value("${app.customer-search.max-results:50}") int maxResults) {
+        this.searchIndex = searchIndex;
+        this.maxResults = maxResults;
+    }
+
+    @Override
+    public List<CustomerSearchResult> searchCustomers(String query, int limit) {
+        List<String> terms = query == null ? List.of() : Arrays.stream(query.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        if (terms.isEmpty()) {
+            throw new UserApiException(HttpStatus.BAD_REQUEST, "Search query is required.");
+        }
+
+        long started = System.nanoTime();
+        List<CustomerSearchResult> results = searchIndex.search(terms, Math.max(1, Math.min(limit, maxResults)));
+        if (results == null) {
+            throw new UserApiException(HttpStatus.SERVICE_UNAVAILABLE, "Customer search index is still loading.");
+        }
+        logger.debug("Customer search '{}' returned {} results in {} us", query, results.size(), (System.nanoTime() - started) / 1000);
+        return results;
+    }
+
+    @Override
+    public SearchIndexStats getIndexStats() {
+        return searchIndex.getStats();
+    }
+}
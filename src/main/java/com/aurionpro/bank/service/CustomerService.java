@@ -12,10 +12,11 @@ import com.aurionpro.bank.exception.CustomerServiceException;
 public interface CustomerService {
 	CustomerDto validateCustomerLogin(String username, String password);
 	//CustomerDto updateCustomerProfile(String username, CustomerDto customerDto);
-    void updateCustomerProfile(String username, CustomerProfileUpdateDTO profileUpdateDTO) throws CustomerServiceException;
-    void performTransaction(String username, TransactionDto transactionDto);
-	PageResponse<TransactionDto> getTransactionsByCustomer(String username, int page, int size);
-    String uploadDocument(Integer customerId, MultipartFile file, DocumentType documentType);
+    // The methods below act on the authenticated customer from CustomerContext
+    void updateCustomerProfile(CustomerProfileUpdateDTO profileUpdateDTO) throws CustomerServiceException;
+    void performTransaction(TransactionDto transactionDto);
+	PageResponse<TransactionDto> getTransactionsByCustomer(int page, int size);
+    String uploadDocument(MultipartFile file, DocumentType documentType);
 
-    void sendTransactionDetailsByEmail(String username);
+    void sendTransactionDetailsByEmail();
 }
\ No newline at end of file
@@ -4,8 +4,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.InputStream;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,15 +34,19 @@ import com.aurionpro.bank.enums.AccountStatus;
 import com.aurionpro.bank.enums.DocumentType;
 import com.aurionpro.bank.enums.KycStatus;
 import com.aurionpro.bank.enums.TransactionType;
+import com.aurionpro.bank.enums.UploadStatus;
 import com.aurionpro.bank.exception.CustomerServiceException;
 import com.aurionpro.bank.exception.DocumentUploadException;
 import com.aurionpro.bank.repo.AccountRepo;
 import com.aurionpro.bank.repo.CustomerRepo;
 import com.aurionpro.bank.repo.DocumentRepo;
 import com.aurionpro.bank.repo.TransactionRepo;
+import com.aurionpro.bank.jfr.DocumentUploadEvent;
+import com.aurionpro.bank.jfr.TransactionEvent;
 import com.aurionpro.bank.repo.UserRepo;
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.aurionpro.bank.security.CustomerContext;
+import com.aurionpro.bank.storage.DocumentUploadProcessor;
+import com.aurionpro.bank.storage.SpooledUpload;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
@@ -69,8 +75,12 @@ public class CustomerServiceImpl implements CustomerService {
     private DocumentRepo documentRepo;
     
     @Autowired
-    private Cloudinary cloudinary;
+    private DocumentUploadProcessor documentUploadProcessor;
 
+    @Autowired
+    private CustomerContext customerContext;
+
+    @Transactional(readOnly = true)
     @Override
     public CustomerDto validateCustomerLogin(String username, String password) {
         logger.info("Validating customer login for username: {}", username);
@@ -78,7 +88,7 @@ public class CustomerServiceImpl implements CustomerService {
         Customer customer = customerRepo.findByEmail(username)
                 .orElseThrow(() -> new CustomerServiceException("Customer not found"));
         
-        if (!passwordEncoder.matches(password, customer.getPassword())) {
+        if (!passwordEncoder.matches(password, findCredentials(customer).getPassword())) {
             logger.warn("Invalid password for username: {}", username);
             throw new CustomerServiceException("Invalid password");
         }
@@ -94,13 +104,15 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Transactional
     @Override
-    public void updateCustomerProfile(String username, CustomerProfileUpdateDTO profileUpdateDTO) throws CustomerServiceException {
-        // Fetch existing customer by email (username)
-        Customer existingCustomer = customerRepo.findByEmail(username)
+    public void updateCustomerProfile(CustomerProfileUpdateDTO profileUpdateDTO) throws CustomerServiceException {
+        // Fetch the authenticated customer by id
+        Customer existingCustomer = customerRepo.findById(customerContext.getCustomerId())
                 .orElseThrow(() -> new CustomerServiceException("Customer not found"));
 
+        User user = findCredentials(existingCustomer);
+
         // Verify the current password
-        if (!passwordEncoder.matches(profileUpdateDTO.getCurrentPassword(), existingCustomer.getPassword())) {
+        if (!passwordEncoder.matches(profileUpdateDTO.getCurrentPassword(), user.getPassword())) {
             throw new CustomerServiceException("Current password is incorrect");
         }
 
@@ -108,33 +120,37 @@ public class CustomerServiceImpl implements CustomerService {
         existingCustomer.setFirstName(profileUpdateDTO.getFirstName());
         existingCustomer.setLastName(profileUpdateDTO.getLastName());
         existingCustomer.setDateOfBirth(profileUpdateDTO.getDateOfBirth());
-        
-        // Encrypt and set the new password
-        existingCustomer.setPassword(passwordEncoder.encode(profileUpdateDTO.getNewPassword()));
 
         // Save the updated customer entity
         customerRepo.save(existingCustomer);
 
-        // Fetch corresponding user entity
-        User user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new CustomerServiceException("User not found"));
-
-        // Encrypt and update the user password
+        // Encrypt and update the password on the single credential store
         user.setPassword(passwordEncoder.encode(profileUpdateDTO.getNewPassword()));
 
         // Save the updated user entity
         userRepo.save(user);
     }
+
+    private User findCredentials(Customer customer) {
+        if (customer.getUser() != null) {
+            return customer.getUser();
+        }
+        // Fall back to the username link for rows the credential migration has not linked yet
+        return userRepo.findByUsername(customer.getEmail())
+                .orElseThrow(() -> new CustomerServiceException("User not found"));
+    }
     
     @Transactional
     @Override
-    public void performTransaction(String username, TransactionDto transactionDto) {
+    public void performTransaction(TransactionDto transactionDto) {
+        TransactionEvent.beginInCurrentTransaction(String.valueOf(transactionDto.getTransactionType()),
+                transactionDto.getTransactionAmount());
+        String username = customerContext.getEmail();
         logger.info("Performing transaction for customer: {}, TransactionType: {}", username, transactionDto.getTransactionType());
 
-        Customer customer = findCustomerByUsername(username);
         Account senderAccount = findAccountByNumber(transactionDto.getSenderAccountNumber());
 
-        validateAccountOwnership(senderAccount, customer);
+        validateAccountOwnership(senderAccount);
 
         if (senderAccount.getStatus() != AccountStatus.ACTIVE) {
             logger.error("Transaction failed for customer: {}. Account {} is not active.", username, senderAccount.getAccountNumber());
@@ -162,29 +178,26 @@ public class CustomerServiceImpl implements CustomerService {
                 throw new CustomerServiceException("Invalid transaction type");
         }
 
-        String email = customer.getEmail();
+        String email = customerContext.getEmail();
         double newBalance = senderAccount.getBalance();
         mailService.sendTransactionNotification(email, transactionType.toString(), transactionAmount, newBalance, senderAccount.getAccountNumber());
 
         logger.info("Transaction completed successfully for customer: {}", username);
     }
 
-    private Customer findCustomerByUsername(String username) {
-        logger.debug("Finding customer by username: {}", username);
-        return customerRepo.findByEmail(username)
-                .orElseThrow(() -> new CustomerServiceException("Customer not found"));
-    }
-
     private Account findAccountByNumber(String accountNumber) {
         logger.debug("Finding account by account number: {}", accountNumber);
+        if (!AccountNumberAllocator.isWellFormed(accountNumber)) {
+            throw new CustomerServiceException("Invalid account number");
+        }
         return accountRepo.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new CustomerServiceException("Account not found"));
     }
 
-    private void validateAccountOwnership(Account account, Customer customer) {
-        logger.debug("Validating account ownership for customer: {}, Account: {}", customer.getEmail(), account.getAccountNumber());
-        if (!account.getCustomer().equals(customer)) {
-            logger.warn("Account ownership validation failed for customer: {}, Account: {}", customer.getEmail(), account.getAccountNumber());
+    private void validateAccountOwnership(Account account) {
+        logger.debug("Validating account ownership for customer: {}, Account: {}", customerContext.getEmail(), account.getAccountNumber());
+        if (!customerContext.ownsAccount(account.getAccountId())) {
+            logger.warn("Account ownership validation failed for customer: {}, Account: {}", customerContext.getEmail(), account.getAccountNumber());
             throw new CustomerServiceException("Account does not belong to the customer");
         }
     }
@@ -194,7 +207,7 @@ public class CustomerServiceImpl implements CustomerService {
                      senderAccount.getAccountNumber(), receiverAccountNumber, transactionAmount);
         Account receiverAccount = findAccountByNumber(receiverAccountNumber);
 
-        if (senderAccount.equals(receiverAccount)) {
+        if (senderAccount.getAccountId().equals(receiverAccount.getAccountId())) {
             logger.warn("Transfer attempted to the same account: {}", senderAccount.getAccountNumber());
             throw new CustomerServiceException("Cannot transfer to the same account");
         }
@@ -261,54 +274,78 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
-    public String uploadDocument(Integer customerId, MultipartFile file, DocumentType documentType) {
+    public String uploadDocument(MultipartFile file, DocumentType documentType) {
+        DocumentUploadEvent event = new DocumentUploadEvent();
+        event.begin();
+        String outcome = "rejected";
+        try {
+            String response = acceptDocument(file, documentType);
+            outcome = "accepted";
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.documentType = String.valueOf(documentType);
+                event.size = file.getSize();
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private String acceptDocument(MultipartFile file, DocumentType documentType) {
+        int customerId = customerContext.getCustomerId();
         logger.info("Uploading document for customer: {}, DocumentType: {}", customerId, documentType);
 
-        Customer customer = customerRepo.findById(customerId)
-                .orElseThrow(() -> new DocumentUploadException("Customer not found"));
+        Customer customer = customerRepo.getReferenceById(customerId);
 
         if (file.isEmpty()) {
             throw new DocumentUploadException("File is empty");
         }
 
-        try {
-            Map<String, String> uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap("resource_type", "auto"));
-            Document document = new Document();
-            document.setDocumentType(documentType);
-            document.setDocumentUrl(uploadResult.get("url"));
-            document.setCustomer(customer);
-            document.setKycStatus(KycStatus.PENDING);;
-
-            documentRepo.save(document);
-
-            logger.info("Document uploaded successfully for customer: {}", customerId);
-            return uploadResult.get("url");
+        SpooledUpload upload;
+        try (InputStream content = file.getInputStream()) {
+            upload = documentUploadProcessor.spool(content);
         } catch (IOException e) {
-            logger.error("Error uploading document for customer: {}", customerId, e);
+            logger.error("Error spooling document for customer: {}", customerId, e);
             throw new DocumentUploadException("Error uploading document", e);
         }
+
+        Document document = new Document();
+        document.setDocumentType(documentType);
+        document.setCustomer(customer);
+        document.setKycStatus(KycStatus.PENDING);
+        document.setUploadStatus(UploadStatus.PENDING);
+        document.setContentType(file.getContentType());
+        document.setFileSize(upload.getSize());
+        document.setContentDigest(upload.getDigest());
+        documentRepo.save(document);
+
+        try {
+            documentUploadProcessor.process(document.getDocumentId(), upload);
+        } catch (TaskRejectedException e) {
+            logger.warn("Document upload queue is full, rejecting upload for customer: {}", customerId);
+            documentUploadProcessor.deleteSpoolFile(upload.getPath());
+            documentUploadProcessor.markFailed(document);
+            throw new DocumentUploadException("Document upload queue is full, please retry", e);
+        }
+
+        logger.info("Document upload accepted for customer: {}, documentId: {}", customerId, document.getDocumentId());
+        return "Document upload accepted with id: " + document.getDocumentId();
     }
 
     @Override
-    public PageResponse<TransactionDto> getTransactionsByCustomer(String username, int page, int size) {
+    public PageResponse<TransactionDto> getTransactionsByCustomer(int page, int size) {
+        String username = customerContext.getEmail();
         logger.info("Retrieving transactions for customer: {} with page: {} and size: {}", username, page, size);
 
-        Customer customer = customerRepo.findByEmail(username)
-                .orElseThrow(() -> new CustomerServiceException("Customer not found"));
-
         Pageable pageable = PageRequest.of(page, size);
-        Page<Transaction> transactionsPage = transactionRepo.findBySenderAccount_Customer(customer, pageable);
+        Page<Transaction> transactionsPage = findSentTransactions(pageable);
 
         logger.info("Transactions retrieved successfully for customer: {}", username);
 
         List<TransactionDto> transactionDtos = transactionsPage.getContent().stream()
-                .map(transaction -> new TransactionDto(
-                        transaction.getTransactionId(),
-                        transaction.getTransactionDate(),
-                        transaction.getTransactionType(),
-                        transaction.getTransactionAmount(),
-                        transaction.getSenderAccount().getAccountNumber(),
-                        transaction.getReceiverAccount() != null ? transaction.getReceiverAccount().getAccountNumber() : null))
+                .map(TransactionMapper::toDto)
                 .collect(Collectors.toList());
 
         return new PageResponse<>(
@@ -322,14 +359,10 @@ public class CustomerServiceImpl implements CustomerService {
     
     
     @Override
-    public void sendTransactionDetailsByEmail(String username){
-        // Fetch customer by email (assuming username is the email)
-        Customer customer = customerRepo.findByEmail(username)
-                .orElseThrow(() -> new CustomerServiceException("Customer not found"));
-
+    public void sendTransactionDetailsByEmail(){
         // Fetch transactions with pagination
         Pageable pageable = PageRequest.of(0, 100); // Adjust page size as needed
-        Page<Transaction> transactionsPage = transactionRepo.findBySenderAccount_Customer(customer, pageable);
+        Page<Transaction> transactionsPage = findSentTransactions(pageable);
 
         if (transactionsPage.isEmpty()) {
             throw new CustomerServiceException("No transactions found for the customer");
@@ -339,11 +372,20 @@ public class CustomerServiceImpl implements CustomerService {
         ByteArrayInputStream csvStream = createCsv(transactionsPage.getContent());
 
         // Send email with attachment
-        mailService.sendEmailWithAttachment(customer.getEmail(), "Transaction Details",
+        mailService.sendEmailWithAttachment(customerContext.getEmail(), "Transaction Details",
                 "Please find attached the details of your transactions.", "transactions.csv", csvStream);
     }
 
-    private ByteArrayInputStream createCsv(List<Transaction> transactions) throws CustomerServiceException {
+    // Filters on the owned account ids, so the query never has to join back to customers
+    private Page<Transaction> findSentTransactions(Pageable pageable) {
+        Set<Long> accountIds = customerContext.getAccountIds();
+        if (accountIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return transactionRepo.findBySenderAccount_AccountIdIn(accountIds, pageable);
+    }
+
+    static ByteArrayInputStream createCsv(List<Transaction> transactions) throws CustomerServiceException {
         final String CSV_HEADER = "Transaction ID,Transaction Date,Transaction Type,Transaction Amount,Sender Account,Receiver Account\n";
 
         // Create StringWriter and PrintWriter
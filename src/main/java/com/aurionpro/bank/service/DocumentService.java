@@ -0,0 +1,15 @@
+package com.aurionpro.bank.service;
+
+import java.io.IOException;
+
+import com.aurionpro.bank.dto.DocumentCacheStats;
+import com.aurionpro.bank.dto.DocumentDedupStats;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public interface DocumentService {
+    void writeDocumentContent(Long documentId, boolean thumbnail, HttpServletRequest request, HttpServletResponse response) throws IOException;
+    DocumentDedupStats getDedupStats();
+    DocumentCacheStats getCacheStats();
+}
@@ -0,0 +1,187 @@
+package com.aurionpro.bank.service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import com.aurionpro.bank.dto.DocumentCacheStats;
+import com.aurionpro.bank.dto.DocumentDedupStats;
+import com.aurionpro.bank.entity.Document;
+import com.aurionpro.bank.enums.UploadStatus;
+import com.aurionpro.bank.exception.CustomerServiceException;
+import com.aurionpro.bank.repo.DocumentRepo;
+import com.aurionpro.bank.storage.DocumentCache;
+import com.aurionpro.bank.storage.DocumentStorage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class DocumentServiceImpl implements DocumentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentServiceImpl.class);
+
+    // Tomcat's NIO connector hands files named in these attributes to the kernel with sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final DocumentRepo documentRepo;
+    private final DocumentStorage documentStorage;
+    private final DocumentCache documentCache;
+
+    @Value("${app.document-cache.browser-max-age-seconds:3600}")
+    private long browserCacheSeconds;
+
+    @Override
+    public void writeDocumentContent(Long documentId, boolean thumbnail, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Document document = documentRepo.findById(documentId)
+                .orElseThrow(() -> new CustomerServiceException("Document not found with ID: " + documentId));
+        String location = thumbnail ? document.getThumbnailUrl() : document.getDocumentUrl();
+        if (document.getUploadStatus() != UploadStatus.STORED || location == null) {
+            throw new CustomerServiceException("Document content is not available for ID: " + documentId);
+        }
+
+        // Blobs are content addressed, so the digest is a strong validator that never changes for a location
+        String etag = document.getContentDigest() != null
+                ? "\"" + document.getContentDigest() + (thumbnail ? "-thumb" : "") + "\""
+                : null;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=" + browserCacheSeconds);
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(etag))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
+        Optional<Path> localPath = documentStorage.localPath(location);
+        // Remote blobs are pinned in the cache until the response is written, so eviction cannot delete them mid-send
+        DocumentCache.Lease lease = localPath.isPresent() ? null : documentCache.get(location, documentStorage);
+        try {
+            Path file = lease == null ? localPath.get() : lease.getPath();
+            long size = Files.size(file);
+
+            long start = 0;
+            long end = size - 1;
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (range != null && (ifRange == null || ifRange.equals(etag))) {
+                long[] bounds = parseRange(range, size);
+                if (bounds == null) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                if (bounds.length == 2) {
+                    start = bounds[0];
+                    end = bounds[1];
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            }
+
+            long length = end - start + 1;
+            String contentType = thumbnail ? "image/jpeg" : document.getContentType();
+            response.setContentType(contentType != null ? contentType : "application/octet-stream");
+            response.setContentLengthLong(length);
+
+            // Tomcat sends the file after this method returns, so sendfile is only used for storage that never evicts
+            if (lease == null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                logger.debug("Serving document {} bytes {}-{} with sendfile", documentId, start, end);
+                return;
+            }
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+                long position = start;
+                while (position <= end) {
+                    position += channel.transferTo(position, end + 1 - position, target);
+                }
+            }
+        } finally {
+            if (lease != null) {
+                lease.close();
+            }
+        }
+    }
+
+    // Supports a single "bytes=a-b", "bytes=a-" or "bytes=-n" range. Returns null when unsatisfiable
+    // and an empty array when the header should be ignored (multiple or malformed ranges).
+    private long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.contains(",")) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            }
+            if (start >= size || start > end) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    @Override
+    public DocumentDedupStats getDedupStats() {
+        List<Object[]> summary = documentRepo.summarizeStoredDocuments();
+        Object[] row = summary.isEmpty() ? new Object[] { 0L, 0L, 0L, 0L } : summary.get(0);
+        long documents = ((Number) row[0]).longValue();
+        long uniqueBlobs = ((Number) row[1]).longValue();
+        long referencedBytes = ((Number) row[2]).longValue();
+        long normalizationBytesSaved = ((Number) row[3]).longValue();
+        long storedBytes = documentRepo.sumStoredBlobBytes();
+
+        // Both sides are post-normalization sizes, so the ratio measures deduplication only
+        double dedupRatio = storedBytes == 0 ? 1.0 : (double) referencedBytes / storedBytes;
+        return new DocumentDedupStats(documents, uniqueBlobs, referencedBytes, storedBytes,
+                referencedBytes - storedBytes, dedupRatio, normalizationBytesSaved);
+    }
+
+    @Override
+    public DocumentCacheStats getCacheStats() {
+        return new DocumentCacheStats(documentCache.getHits(), documentCache.getMisses(),
+                documentCache.getEvictions(), documentCache.getUsedBytes());
+    }
+}
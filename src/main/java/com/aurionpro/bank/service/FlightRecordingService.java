@@ -0,0 +1,12 @@
+package com.aurionpro.bank.service;
+
+import java.nio.file.Path;
+
+import com.aurionpro.bank.dto.RecordingStatus;
+
+public interface FlightRecordingService {
+    RecordingStatus getStatus();
+    RecordingStatus startRecording(String settings);
+    RecordingStatus stopRecording();
+    Path dumpRecording();
+}
@@ -0,0 +1,196 @@
+package com.aurionpro.bank.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.aurionpro.bank.dto.RecordingStatus;
+import com.aurionpro.bank.exception.UserApiException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+// Manages one Flight Recorder recording at a time. With app.jfr.continuous the recording starts with the
+// application and keeps a rolling window (max age / max size), so the bank's events can be read next to
+// GC, lock and I/O events for any recent latency spike.
+@Service
+public class FlightRecordingServiceImpl implements FlightRecordingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingServiceImpl.class);
+
+    private static final String RECORDING_NAME = "bank";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final boolean continuous;
+    private final String defaultSettings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Path dumpDir;
+    private final int keepDumps;
+
+    private Recording recording;
+    private String recordingSettings;
+    private Path lastDump;
+
+    public FlightRecordingServiceImpl(
+            @Value("${app.jfr.continuous:true}") boolean continuous,
+            @Value("${app.jfr.settings:default}") String defaultSettings,
+            @Value("${app.jfr.max-age-minutes:30}") long maxAgeMinutes,
+            @Value("${app.jfr.max-size-megabytes:250}") long maxSizeMegabytes,
+            @Value("${app.jfr.dump-dir:log/jfr}") String dumpDir,
+            @Value("${app.jfr.keep-dumps:5}") int keepDumps) {
+        this.continuous = continuous;
+        this.defaultSettings = defaultSettings;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeMegabytes * 1024 * 1024;
+        this.dumpDir = Paths.get(dumpDir).toAbsolutePath();
+        this.keepDumps = keepDumps;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuousRecording() {
+        if (continuous) {
+            startRecording(defaultSettings);
+        }
+    }
+
+    @Override
+    public synchronized RecordingStatus getStatus() {
+        return toStatus();
+    }
+
+    @Override
+    public synchronized RecordingStatus startRecording(String settings) {
+        if (isRunning()) {
+            throw new UserApiException(HttpStatus.CONFLICT, "A recording is already running.");
+        }
+        String settingsName = settings == null || settings.isBlank() ? defaultSettings : settings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new UserApiException(HttpStatus.BAD_REQUEST, "Unknown recording settings: " + settingsName);
+        }
+
+        try {
+            Files.createDirectories(dumpDir);
+            Recording started = new Recording(configuration);
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(maxAge);
+            started.setMaxSize(maxSizeBytes);
+            started.setDumpOnExit(true);
+            started.setDestination(nextDumpFile());
+            started.start();
+            recording = started;
+            recordingSettings = settingsName;
+        } catch (IOException e) {
+            throw new UserApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to start recording: " + e.getMessage());
+        }
+        logger.info("Flight recording started with '{}' settings, max age {}, max size {} bytes", settingsName, maxAge, maxSizeBytes);
+        return toStatus();
+    }
+
+    @Override
+    public synchronized RecordingStatus stopRecording() {
+        if (!isRunning()) {
+            throw new UserApiException(HttpStatus.CONFLICT, "No recording is running.");
+        }
+        // stop() writes the recording to its destination
+        recording.stop();
+        lastDump = recording.getDestination();
+        RecordingStatus status = toStatus();
+        recording.close();
+        recording = null;
+        pruneDumps();
+        logger.info("Flight recording stopped and written to {}", lastDump);
+        return status;
+    }
+
+    // A copy of the running recording so far, or the file written by the last stop
+    @Override
+    public synchronized Path dumpRecording() {
+        if (isRunning()) {
+            try {
+                Path dump = nextDumpFile();
+                recording.dump(dump);
+                lastDump = dump;
+                pruneDumps();
+                return dump;
+            } catch (IOException e) {
+                throw new UserApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to dump recording: " + e.getMessage());
+            }
+        }
+        if (lastDump != null && Files.exists(lastDump)) {
+            return lastDump;
+        }
+        throw new UserApiException(HttpStatus.NOT_FOUND, "No recording is available.");
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private Path nextDumpFile() {
+        return dumpDir.resolve(RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+    }
+
+    // Keeps the newest dumps; the running recording's destination is not written until it stops
+    private void pruneDumps() {
+        List<Path> dumps = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dumpDir, RECORDING_NAME + "-*.jfr")) {
+            files.forEach(dumps::add);
+        } catch (IOException e) {
+            logger.warn("Unable to list recordings in {}", dumpDir, e);
+            return;
+        }
+        dumps.sort(Comparator.comparing(Path::getFileName).reversed());
+        for (int i = keepDumps; i < dumps.size(); i++) {
+            try {
+                Files.deleteIfExists(dumps.get(i));
+            } catch (IOException e) {
+                logger.warn("Unable to delete old recording {}", dumps.get(i), e);
+            }
+        }
+    }
+
+    private RecordingStatus toStatus() {
+        RecordingStatus status = new RecordingStatus();
+        status.setMaxAgeSeconds(maxAge.toSeconds());
+        status.setMaxSizeBytes(maxSizeBytes);
+        if (recording == null) {
+            status.setState(RecordingState.CLOSED.name());
+            status.setDestination(lastDump == null ? null : lastDump.toString());
+            return status;
+        }
+        status.setRunning(recording.getState() == RecordingState.RUNNING);
+        status.setName(recording.getName());
+        status.setSettings(recordingSettings);
+        status.setState(recording.getState().name());
+        if (recording.getStartTime() != null) {
+            status.setStartedAt(LocalDateTime.ofInstant(recording.getStartTime(), ZoneId.systemDefault()));
+        }
+        status.setSizeBytes(recording.getSize());
+        status.setDestination(recording.getDestination() == null ? null : recording.getDestination().toString());
+        return status;
+    }
+}
@@ -0,0 +1,15 @@
+package com.aurionpro.bank.service;
+
+import java.util.List;
+
+import com.aurionpro.bank.dto.KycVerdictDto;
+import com.aurionpro.bank.dto.KycVerdictResult;
+import com.aurionpro.bank.entity.Document;
+
+public interface KycReviewService {
+    // Upper bound on one verdict submission, matching the row budget of the endpoint
+    int MAX_VERDICTS = 200;
+
+    List<Document> claimNextDocuments(String reviewer, int count);
+    KycVerdictResult submitVerdicts(String reviewer, List<KycVerdictDto> verdicts);
+}
@@ -0,0 +1,90 @@
+package com.aurionpro.bank.service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aurionpro.bank.dto.KycVerdictDto;
+import com.aurionpro.bank.dto.KycVerdictResult;
+import com.aurionpro.bank.entity.Document;
+import com.aurionpro.bank.enums.KycStatus;
+import com.aurionpro.bank.exception.CustomerServiceException;
+import com.aurionpro.bank.repo.DocumentRepo;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class KycReviewServiceImpl implements KycReviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KycReviewServiceImpl.class);
+
+    private final DocumentRepo documentRepo;
+
+    @Value("${app.kyc-review.lease-minutes:15}")
+    private long leaseMinutes;
+
+    @Value("${app.kyc-review.max-claim:50}")
+    private int maxClaim;
+
+    @Transactional
+    @Override
+    public List<Document> claimNextDocuments(String reviewer, int count) {
+        if (count <= 0 || count > maxClaim) {
+            throw new CustomerServiceException("Claim count must be between 1 and " + maxClaim);
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // SKIP LOCKED keeps concurrent reviewers from blocking on (or double-claiming) the same rows
+        List<Long> documentIds = documentRepo.lockNextReviewable(now, count);
+        if (documentIds.isEmpty()) {
+            logger.debug("No pending documents to claim for reviewer: {}", reviewer);
+            return Collections.emptyList();
+        }
+
+        documentRepo.leaseDocuments(documentIds, reviewer, now.plusMinutes(leaseMinutes));
+        logger.info("Reviewer {} claimed {} documents", reviewer, documentIds.size());
+        return documentRepo.findAllWithCustomerByDocumentIdIn(documentIds);
+    }
+
+    @Transactional
+    @Override
+    public KycVerdictResult submitVerdicts(String reviewer, List<KycVerdictDto> verdicts) {
+        if (verdicts.stream().anyMatch(verdict -> verdict.getDocumentId() == null
+                || verdict.getKycStatus() == null || verdict.getKycStatus() == KycStatus.PENDING)) {
+            throw new CustomerServiceException("A verdict must be APPROVED or REJECTED");
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // One set-based UPDATE per verdict instead of one per document
+        Map<KycStatus, List<Long>> documentsByVerdict = verdicts.stream()
+                .collect(Collectors.groupingBy(KycVerdictDto::getKycStatus, () -> new EnumMap<>(KycStatus.class),
+                        Collectors.mapping(KycVerdictDto::getDocumentId, Collectors.toList())));
+
+        int applied = 0;
+        for (Map.Entry<KycStatus, List<Long>> entry : documentsByVerdict.entrySet()) {
+            applied += documentRepo.applyVerdict(entry.getValue(), entry.getKey(), reviewer, now);
+        }
+        logger.info("Reviewer {} submitted {} verdicts, {} applied", reviewer, verdicts.size(), applied);
+        return new KycVerdictResult(verdicts.size(), applied);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.kyc-review.lease-sweep-interval-milliseconds:60000}")
+    public void releaseExpiredLeases() {
+        int released = documentRepo.releaseExpiredLeases(LocalDateTime.now());
+        if (released > 0) {
+            logger.info("Released {} expired KYC review leases", released);
+        }
+    }
+}
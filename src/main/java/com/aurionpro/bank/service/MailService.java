@@ -5,6 +5,7 @@ import java.io.ByteArrayInputStream;
 
 public interface MailService {
     void sendEmail(String to, String subject, String body);
+    void sendWelcomeEmail(String to, String fullName, String passwordDescription);
     void sendAccountCreationEmail(String to, String username, String passwordFormat, String accountNumber, double balance);
     void sendTransactionNotification(String to, String transactionType, double amount, double newBalance, String accountNumber);
 
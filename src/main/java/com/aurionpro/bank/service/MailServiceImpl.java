@@ -7,6 +7,8 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import com.aurionpro.bank.jfr.MailSendEvent;
+
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
@@ -25,8 +27,35 @@ public class MailServiceImpl implements MailService {
         message.setTo(to);
         message.setSubject(subject);
         message.setText(body);
-        javaMailSender.send(message);
+
+        MailSendEvent event = new MailSendEvent();
+        event.begin();
+        String outcome = "failed";
+        try {
+            javaMailSender.send(message);
+            outcome = "sent";
+        } finally {
+            commitEvent(event, subject, false, outcome);
+        }
     }
+    @Override
+    public void sendWelcomeEmail(String to, String fullName, String passwordDescription) {
+        String subject = "Welcome to the Bank";
+        String body = String.format(
+            "Dear %s,%n%n" +
+            "Welcome! Your customer profile has been created.%n%n" +
+            "You can log in with the following details:%n" +
+            "Username: %s%n" +
+            "Password Format: %s%n%n" +
+            "Your account details will follow once an account has been opened for you.%n%n" +
+            "Best regards,%n" +
+            "The Bank Team",
+            fullName, to, passwordDescription
+        );
+
+        sendEmail(to, subject, body);
+    }
+
     @Override
     public void sendAccountCreationEmail(String to, String fullName, String passwordDescription, String accountNumber, double balance) {
         String subject = "Congratulations! Your Account has been Created";
@@ -122,6 +151,9 @@ public class MailServiceImpl implements MailService {
     
     @Override
     public void sendEmailWithAttachment(String to, String subject, String body, String attachmentName, ByteArrayInputStream attachment) {
+        MailSendEvent event = new MailSendEvent();
+        event.begin();
+        String outcome = "failed";
         try {
             MimeMessage mimeMessage = javaMailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
@@ -132,8 +164,21 @@ public class MailServiceImpl implements MailService {
             helper.addAttachment(attachmentName, new ByteArrayResource(attachment.readAllBytes()));
 
             javaMailSender.send(mimeMessage);
+            outcome = "sent";
         } catch (MessagingException e) {
             // Handle exceptions
+        } finally {
+            commitEvent(event, subject, true, outcome);
+        }
+    }
+
+    private static void commitEvent(MailSendEvent event, String subject, boolean attachment, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.subject = subject;
+            event.attachment = attachment;
+            event.outcome = outcome;
+            event.commit();
         }
     }
   
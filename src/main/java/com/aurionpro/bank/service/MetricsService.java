@@ -0,0 +1,11 @@
+package com.aurionpro.bank.service;
+
+import com.aurionpro.bank.dto.EndpointLatencyReport;
+import com.aurionpro.bank.dto.LoggingStats;
+import com.aurionpro.bank.dto.PersistenceMetricsReport;
+
+public interface MetricsService {
+    PersistenceMetricsReport getPersistenceMetrics();
+    EndpointLatencyReport getEndpointLatency();
+    LoggingStats getLoggingStats();
+}
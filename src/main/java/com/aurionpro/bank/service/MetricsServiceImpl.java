@@ -0,0 +1,125 @@
+package com.aurionpro.bank.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.aurionpro.bank.dto.EndpointLatencyReport;
+import com.aurionpro.bank.dto.LoggingStats;
+import com.aurionpro.bank.dto.PersistenceMetricsReport;
+import com.aurionpro.bank.logging.LogSamplingTurboFilter;
+import com.aurionpro.bank.logging.RingBufferAppender;
+import com.aurionpro.bank.metrics.EndpointMetrics;
+import com.aurionpro.bank.metrics.PersistenceMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class MetricsServiceImpl implements MetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsServiceImpl.class);
+
+    private final PersistenceMetrics persistenceMetrics;
+    private final EndpointMetrics endpointMetrics;
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public PersistenceMetricsReport getPersistenceMetrics() {
+        PersistenceMetricsReport report = new PersistenceMetricsReport();
+        report.setRepositoryMethods(persistenceMetrics.getRepositoryMethods());
+        report.setStatements(persistenceMetrics.getStatements());
+        report.setRequestStatements(persistenceMetrics.getRequestStatements());
+        report.setRequestRows(persistenceMetrics.getRequestRows());
+        report.setStatementsPerTransaction(persistenceMetrics.getStatementsPerTransaction());
+        report.setConnectionWait(persistenceMetrics.getConnectionWait());
+        report.setConnectionUsage(persistenceMetrics.getConnectionUsage());
+        report.setConnectionPool(connectionPool());
+        report.setHibernate(hibernateStatistics());
+        report.setSlowQueries(persistenceMetrics.getSlowQueryCount());
+        report.setRecentSlowQueries(persistenceMetrics.getRecentSlowQueries());
+        return report;
+    }
+
+    @Override
+    public EndpointLatencyReport getEndpointLatency() {
+        return endpointMetrics.getReport();
+    }
+
+    // The appenders and filters are created by Logback, not Spring, so they are found through their own registries
+    @Override
+    public LoggingStats getLoggingStats() {
+        List<LoggingStats.Appender> appenders = new ArrayList<>();
+        for (RingBufferAppender appender : RingBufferAppender.startedAppenders()) {
+            appenders.add(new LoggingStats.Appender(appender.getName(), appender.getQueueDepth(), appender.getQueueSize(),
+                    appender.getEnqueued(), appender.getDiscardedBelowWarn(), appender.getDiscardedFull()));
+        }
+        Map<String, Long> sampledOut = new LinkedHashMap<>();
+        for (LogSamplingTurboFilter filter : LogSamplingTurboFilter.startedFilters()) {
+            filter.getDroppedByRule().forEach((rule, dropped) -> sampledOut.merge(rule, dropped, Long::sum));
+        }
+        return new LoggingStats(appenders, sampledOut);
+    }
+
+    private PersistenceMetricsReport.ConnectionPool connectionPool() {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return null;
+            }
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool == null) {
+                // The pool starts on the first connection request
+                return null;
+            }
+            PersistenceMetricsReport.ConnectionPool stats = new PersistenceMetricsReport.ConnectionPool();
+            stats.setActive(pool.getActiveConnections());
+            stats.setIdle(pool.getIdleConnections());
+            stats.setTotal(pool.getTotalConnections());
+            stats.setThreadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+            stats.setMaximumPoolSize(hikari.getMaximumPoolSize());
+            return stats;
+        } catch (SQLException e) {
+            logger.warn("Unable to read connection pool statistics", e);
+            return null;
+        }
+    }
+
+    private Map<String, Long> hibernateStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> values = new LinkedHashMap<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return values;
+        }
+        values.put("sessionsOpened", statistics.getSessionOpenCount());
+        values.put("transactions", statistics.getTransactionCount());
+        values.put("statementsPrepared", statistics.getPrepareStatementCount());
+        values.put("flushes", statistics.getFlushCount());
+        values.put("entityLoads", statistics.getEntityLoadCount());
+        values.put("entityFetches", statistics.getEntityFetchCount());
+        values.put("entityInserts", statistics.getEntityInsertCount());
+        values.put("entityUpdates", statistics.getEntityUpdateCount());
+        values.put("entityDeletes", statistics.getEntityDeleteCount());
+        values.put("collectionLoads", statistics.getCollectionLoadCount());
+        values.put("collectionFetches", statistics.getCollectionFetchCount());
+        values.put("collectionUpdates", statistics.getCollectionUpdateCount());
+        values.put("queryExecutions", statistics.getQueryExecutionCount());
+        values.put("queryExecutionMaxMillis", statistics.getQueryExecutionMaxTime());
+        values.put("optimisticLockFailures", statistics.getOptimisticFailureCount());
+        return values;
+    }
+}
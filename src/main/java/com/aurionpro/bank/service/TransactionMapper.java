@@ -0,0 +1,21 @@
+package com.aurionpro.bank.service;
+
+import com.aurionpro.bank.dto.TransactionDto;
+import com.aurionpro.bank.entity.Transaction;
+
+// Shared by the admin and customer transaction listings
+final class TransactionMapper {
+
+    private TransactionMapper() {
+    }
+
+    static TransactionDto toDto(Transaction transaction) {
+        return new TransactionDto(
+                transaction.getTransactionId(),
+                transaction.getTransactionDate(),
+                transaction.getTransactionType(),
+                transaction.getTransactionAmount(),
+                transaction.getSenderAccount() != null ? transaction.getSenderAccount().getAccountNumber() : null,
+                transaction.getReceiverAccount() != null ? transaction.getReceiverAccount().getAccountNumber() : null);
+    }
+}
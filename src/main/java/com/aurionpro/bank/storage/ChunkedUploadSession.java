@@ -0,0 +1,111 @@
+package com.aurionpro.bank.storage;
+
+import java.nio.file.Path;
+import java.util.BitSet;
+
+import com.aurionpro.bank.enums.DocumentType;
+
+import lombok.Getter;
+
+// State of one resumable upload; chunks are written in place into the assembly file.
+// Completion waits for chunk writes in flight and shuts out new ones, so the file it digests cannot change underneath it.
+@Getter
+public class ChunkedUploadSession {
+
+    public enum ChunkStart { STARTED, COMPLETING, ALREADY_IN_FLIGHT }
+
+    private final String uploadId;
+    private final int customerId;
+    private final DocumentType documentType;
+    private final String contentType;
+    private final long totalSize;
+    private final int chunkSize;
+    private final int totalChunks;
+    private final Path assemblyFile;
+    private final BitSet receivedChunks;
+    private final BitSet chunksWriting;
+    private volatile long lastActivity;
+    private int chunksInFlight;
+    private boolean completing;
+
+    public ChunkedUploadSession(String uploadId, int customerId, DocumentType documentType, String contentType,
+            long totalSize, int chunkSize, Path assemblyFile) {
+        this.uploadId = uploadId;
+        this.customerId = customerId;
+        this.documentType = documentType;
+        this.contentType = contentType;
+        this.totalSize = totalSize;
+        this.chunkSize = chunkSize;
+        this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+        this.assemblyFile = assemblyFile;
+        this.receivedChunks = new BitSet(totalChunks);
+        this.chunksWriting = new BitSet(totalChunks);
+        this.lastActivity = System.currentTimeMillis();
+    }
+
+    public long chunkOffset(int index) {
+        return (long) index * chunkSize;
+    }
+
+    public long chunkLength(int index) {
+        return Math.min(chunkSize, totalSize - chunkOffset(index));
+    }
+
+    public void touch() {
+        lastActivity = System.currentTimeMillis();
+    }
+
+    // A re-sent chunk overwrites the previous bytes, so it only counts again once endChunk says it was verified.
+    // Refused once completion has started, and while the same chunk is still being written, since two writers
+    // at the same offsets would interleave their bytes.
+    public synchronized ChunkStart beginChunk(int index) {
+        if (completing) {
+            return ChunkStart.COMPLETING;
+        }
+        if (chunksWriting.get(index)) {
+            return ChunkStart.ALREADY_IN_FLIGHT;
+        }
+        chunksInFlight++;
+        chunksWriting.set(index);
+        receivedChunks.clear(index);
+        return ChunkStart.STARTED;
+    }
+
+    public synchronized void endChunk(int index, boolean verified) {
+        chunksInFlight--;
+        chunksWriting.clear(index);
+        if (verified) {
+            receivedChunks.set(index);
+        }
+    }
+
+    // Succeeds only when every chunk is verified and none is being written; later chunk writes are refused
+    public synchronized boolean beginCompletion() {
+        if (completing || chunksInFlight > 0 || receivedChunks.cardinality() != totalChunks) {
+            return false;
+        }
+        completing = true;
+        return true;
+    }
+
+    // The completion could not be queued; the client may retry it
+    public synchronized void cancelCompletion() {
+        completing = false;
+    }
+
+    public synchronized boolean isCompleting() {
+        return completing;
+    }
+
+    public synchronized int chunksInFlight() {
+        return chunksInFlight;
+    }
+
+    public synchronized int receivedCount() {
+        return receivedChunks.cardinality();
+    }
+
+    public synchronized BitSet receivedSnapshot() {
+        return (BitSet) receivedChunks.clone();
+    }
+}
@@ -0,0 +1,40 @@
+package com.aurionpro.bank.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+
+@Component
+@ConditionalOnProperty(name = "app.document-storage.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryDocumentStorage implements DocumentStorage {
+
+    private final Cloudinary cloudinary;
+    private final int bufferSize;
+
+    public CloudinaryDocumentStorage(Cloudinary cloudinary,
+            @Value("${app.document-storage.buffer-size:6291456}") int bufferSize) {
+        this.cloudinary = cloudinary;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public String store(String key, InputStream content, long size) throws IOException {
+        // uploadLarge sends the stream in bufferSize chunks instead of one request body built in memory
+        Map<?, ?> uploadResult = cloudinary.uploader().uploadLarge(content,
+                ObjectUtils.asMap("resource_type", "auto", "public_id", "kyc/" + key, "overwrite", false), bufferSize);
+        return (String) uploadResult.get("url");
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        return URI.create(location).toURL().openStream();
+    }
+}
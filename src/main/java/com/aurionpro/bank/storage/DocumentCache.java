@@ -0,0 +1,271 @@
+package com.aurionpro.bank.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Read-through, on-disk LRU cache of remote document blobs with a byte budget.
+// Remote backends are only contacted on a miss. Callers get a Lease that pins the file until they have served it.
+@Component
+public class DocumentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentCache.class);
+
+    private static final int FILL_BUFFER_SIZE = 64 * 1024;
+
+    private final Path cacheDir;
+    private final long maxBytes;
+
+    // access-ordered: the eldest entry is the least recently served
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes;
+
+    // one download per blob even when several admins open it at the same time
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static final class Entry {
+        private final long size;
+        // Leases currently serving the file; eviction skips the entry while this is above zero
+        private int pins;
+
+        private Entry(long size) {
+            this.size = size;
+        }
+    }
+
+    // A cached file pinned for as long as the caller reads it. Close it when the response is written.
+    public final class Lease implements AutoCloseable {
+        private final String name;
+        private boolean released;
+
+        private Lease(String name) {
+            this.name = name;
+        }
+
+        public Path getPath() {
+            return cacheDir.resolve(name);
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(name);
+            }
+        }
+    }
+
+    public DocumentCache(@Value("${app.document-cache.dir:document-cache}") String cacheDir,
+            @Value("${app.document-cache.max-bytes:1073741824}") long maxBytes) throws IOException {
+        this.cacheDir = Paths.get(cacheDir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        Files.createDirectories(this.cacheDir);
+        loadExistingEntries();
+    }
+
+    public Lease get(String location, DocumentStorage documentStorage) throws IOException {
+        String name = fileName(location);
+        boolean retried = false;
+        while (true) {
+            Lease lease = pin(name);
+            if (lease != null) {
+                hits.incrementAndGet();
+                return lease;
+            }
+
+            CompletableFuture<Void> download = new CompletableFuture<>();
+            CompletableFuture<Void> existing = inFlight.putIfAbsent(name, download);
+            if (existing != null) {
+                // Another request is downloading the blob; pin its result, or retry once if it failed
+                try {
+                    existing.join();
+                } catch (RuntimeException e) {
+                    if (retried) {
+                        throw asIOException(e);
+                    }
+                    retried = true;
+                    logger.info("Shared download of {} failed, retrying", location);
+                }
+                continue;
+            }
+
+            // Waiters loop back to the lookup when woken, so the download is unregistered before it completes
+            try {
+                // The blob may have landed between the lookup and taking over the download
+                lease = pin(name);
+                if (lease != null) {
+                    hits.incrementAndGet();
+                } else {
+                    misses.incrementAndGet();
+                    lease = fill(name, location, documentStorage);
+                }
+            } catch (IOException | RuntimeException e) {
+                inFlight.remove(name, download);
+                download.completeExceptionally(e);
+                throw e;
+            }
+            inFlight.remove(name, download);
+            download.complete(null);
+            return lease;
+        }
+    }
+
+    private synchronized Lease pin(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+        entry.pins++;
+        return new Lease(name);
+    }
+
+    private synchronized void release(String name) {
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            entry.pins--;
+        }
+        // Pinned entries may have held the cache over budget
+        evictToBudget();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    private Lease fill(String name, String location, DocumentStorage documentStorage) throws IOException {
+        Path target = cacheDir.resolve(name);
+        Path partial = cacheDir.resolve(name + ".part");
+        long size = 0;
+        byte[] buffer = new byte[FILL_BUFFER_SIZE];
+        try (InputStream content = documentStorage.open(location); OutputStream out = Files.newOutputStream(partial)) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Lease lease;
+        synchronized (this) {
+            Entry entry = new Entry(size);
+            // Pinned before eviction runs, so the new file is never evicted before it is served
+            Entry previous = entries.put(name, entry);
+            entry.pins = 1 + (previous != null ? previous.pins : 0);
+            usedBytes += size - (previous != null ? previous.size : 0);
+            lease = new Lease(name);
+            evictToBudget();
+        }
+        logger.debug("Cached {} ({} bytes) as {}", location, size, name);
+        return lease;
+    }
+
+    // Caller holds the lock. Files being served are skipped, so the cache can run over budget until they are released.
+    private void evictToBudget() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            if (eldest.getValue().pins > 0) {
+                continue;
+            }
+            iterator.remove();
+            usedBytes -= eldest.getValue().size;
+            evictions.incrementAndGet();
+            try {
+                Files.deleteIfExists(cacheDir.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                logger.warn("Unable to delete evicted cache file {}", eldest.getKey(), e);
+            }
+        }
+    }
+
+    private void loadExistingEntries() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir)) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().endsWith(".part")) {
+                    Files.deleteIfExists(file);
+                } else {
+                    files.add(file);
+                }
+            }
+        }
+        // oldest first, so insertion order approximates the previous access order
+        files.sort(Comparator.comparingLong(DocumentCache::lastModified));
+        synchronized (this) {
+            for (Path file : files) {
+                long size = Files.size(file);
+                entries.put(file.getFileName().toString(), new Entry(size));
+                usedBytes += size;
+            }
+            evictToBudget();
+        }
+        logger.info("Document cache at {} holds {} files, {} bytes", cacheDir, entries.size(), usedBytes);
+    }
+
+    private static IOException asIOException(RuntimeException e) {
+        if (e.getCause() instanceof IOException ioException) {
+            return ioException;
+        }
+        return new IOException("Download failed", e.getCause() != null ? e.getCause() : e);
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static String fileName(String location) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(location.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.aurionpro.bank.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+// Backend that holds the bytes of uploaded KYC documents, keyed by their SHA-256 digest.
+// Implementations must stream the content through fixed-size buffers and never load a whole document on the heap.
+public interface DocumentStorage {
+
+    // Stores the content under the given key and returns the location to record on the Document.
+    // Must be safe to call concurrently with the same key: keys are content digests, so whichever
+    // upload lands first wins and the others return the same location without overwriting it.
+    String store(String key, InputStream content, long size) throws IOException;
+
+    InputStream open(String location) throws IOException;
+
+    // Backends that keep documents on local disk expose the file so it can be served directly;
+    // remote backends are read through the DocumentCache instead
+    default Optional<Path> localPath(String location) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,170 @@
+package com.aurionpro.bank.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.aurionpro.bank.entity.Document;
+import com.aurionpro.bank.enums.UploadStatus;
+import com.aurionpro.bank.repo.DocumentRepo;
+
+// Spools uploads to local disk and moves them into the configured DocumentStorage off the request thread.
+// Blobs are content addressed: a document whose SHA-256 is already stored only gets a new Document reference.
+// Images are normalized (downscaled, re-encoded, thumbnailed) before they reach the backend.
+@Component
+public class DocumentUploadProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentUploadProcessor.class);
+
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+
+    private final DocumentStorage documentStorage;
+    private final DocumentRepo documentRepo;
+    private final ImageNormalizer imageNormalizer;
+    private final Path spoolDir;
+
+    public DocumentUploadProcessor(DocumentStorage documentStorage, DocumentRepo documentRepo, ImageNormalizer imageNormalizer,
+            @Value("${app.document-upload.spool-dir:${java.io.tmpdir}/bank-uploads}") String spoolDir) {
+        this.documentStorage = documentStorage;
+        this.documentRepo = documentRepo;
+        this.imageNormalizer = imageNormalizer;
+        this.spoolDir = Paths.get(spoolDir).toAbsolutePath();
+    }
+
+    // Copies the stream through a fixed buffer, hashing it on the way
+    public SpooledUpload spool(InputStream content) throws IOException {
+        Files.createDirectories(spoolDir);
+        Path spoolFile = Files.createTempFile(spoolDir, "upload-", ".part");
+
+        MessageDigest sha256 = newSha256();
+        long size = 0;
+        byte[] buffer = new byte[SPOOL_BUFFER_SIZE];
+        try (OutputStream out = Files.newOutputStream(spoolFile)) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                sha256.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        } catch (IOException e) {
+            deleteSpoolFile(spoolFile);
+            throw e;
+        }
+        return new SpooledUpload(spoolFile, HexFormat.of().formatHex(sha256.digest()), size);
+    }
+
+    // Hashes a file that was already assembled on local disk, e.g. by a chunked upload
+    public SpooledUpload digest(Path file) throws IOException {
+        MessageDigest sha256 = newSha256();
+        long size = 0;
+        byte[] buffer = new byte[SPOOL_BUFFER_SIZE];
+        try (InputStream content = Files.newInputStream(file)) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                sha256.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        return new SpooledUpload(file, HexFormat.of().formatHex(sha256.digest()), size);
+    }
+
+    @Async("documentUploadExecutor")
+    public void process(Long documentId, SpooledUpload upload) {
+        Path spoolFile = upload.getPath();
+        NormalizedImage normalized = null;
+        Document document = documentRepo.findById(documentId).orElse(null);
+        if (document == null) {
+            logger.warn("Document {} was removed before it could be stored", documentId);
+            deleteSpoolFile(spoolFile);
+            return;
+        }
+
+        try {
+            // Only a shortcut that skips the upload; two identical uploads in flight can both miss it,
+            // which is safe because storing is idempotent per digest
+            Optional<Document> existing = documentRepo
+                    .findFirstByContentDigestAndUploadStatus(upload.getDigest(), UploadStatus.STORED);
+            if (existing.isPresent()) {
+                Document original = existing.get();
+                document.setDocumentUrl(original.getDocumentUrl());
+                document.setThumbnailUrl(original.getThumbnailUrl());
+                document.setThumbnailSize(original.getThumbnailSize());
+                document.setStoredSize(original.getStoredSize());
+                document.setContentType(original.getContentType());
+                document.setUploadStatus(UploadStatus.STORED);
+                documentRepo.save(document);
+                logger.info("Document {} deduplicated against document {}, {} bytes not stored again",
+                        documentId, original.getDocumentId(), upload.getSize());
+                return;
+            }
+
+            if (imageNormalizer.supports(document.getContentType())) {
+                normalized = imageNormalizer.normalize(spoolFile);
+            }
+
+            if (normalized != null) {
+                document.setDocumentUrl(store(upload.getDigest(), normalized.getImage(), normalized.getImageSize()));
+                document.setThumbnailUrl(store(upload.getDigest() + "-thumb", normalized.getThumbnail(), normalized.getThumbnailSize()));
+                document.setThumbnailSize(normalized.getThumbnailSize());
+                document.setStoredSize(normalized.getImageSize());
+                document.setContentType("image/jpeg");
+            } else {
+                document.setDocumentUrl(store(upload.getDigest(), spoolFile, upload.getSize()));
+                document.setStoredSize(upload.getSize());
+            }
+            document.setUploadStatus(UploadStatus.STORED);
+            documentRepo.save(document);
+            logger.info("Document {} stored at {}, {} bytes uploaded, {} bytes stored",
+                    documentId, document.getDocumentUrl(), upload.getSize(), document.getStoredSize());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error storing document {}", documentId, e);
+            markFailed(document);
+        } finally {
+            deleteSpoolFile(spoolFile);
+            if (normalized != null) {
+                deleteSpoolFile(normalized.getImage());
+                deleteSpoolFile(normalized.getThumbnail());
+            }
+        }
+    }
+
+    private String store(String key, Path file, long size) throws IOException {
+        try (InputStream content = Files.newInputStream(file)) {
+            return documentStorage.store(key, content, size);
+        }
+    }
+
+    public void deleteSpoolFile(Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            logger.warn("Unable to delete spooled upload {}", spoolFile, e);
+        }
+    }
+
+    public void markFailed(Document document) {
+        document.setUploadStatus(UploadStatus.FAILED);
+        documentRepo.save(document);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.aurionpro.bank.storage;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Downscales KYC scans to a maximum resolution, re-encodes them as JPEG without metadata
+// and renders a small thumbnail for admin review.
+@Component
+public class ImageNormalizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageNormalizer.class);
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of("image/jpeg", "image/jpg", "image/png", "image/bmp", "image/gif");
+
+    private final boolean enabled;
+    private final int maxDimension;
+    private final float quality;
+    private final int thumbnailDimension;
+    private final float thumbnailQuality;
+
+    // Decoded rasters are large (a 12 MP scan is ~48 MB), so only a few normalizations may run at once
+    private final Semaphore permits;
+
+    public ImageNormalizer(@Value("${app.image-normalization.enabled:true}") boolean enabled,
+            @Value("${app.image-normalization.max-dimension:2000}") int maxDimension,
+            @Value("${app.image-normalization.quality:0.8}") float quality,
+            @Value("${app.image-normalization.thumbnail-dimension:256}") int thumbnailDimension,
+            @Value("${app.image-normalization.thumbnail-quality:0.7}") float thumbnailQuality,
+            @Value("${app.image-normalization.max-concurrency:2}") int maxConcurrency) {
+        this.enabled = enabled;
+        this.maxDimension = maxDimension;
+        this.quality = quality;
+        this.thumbnailDimension = thumbnailDimension;
+        this.thumbnailQuality = thumbnailQuality;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    public boolean supports(String contentType) {
+        return enabled && contentType != null && SUPPORTED_TYPES.contains(contentType.toLowerCase());
+    }
+
+    // Returns null when the file cannot be decoded as an image, in which case the original is stored
+    public NormalizedImage normalize(Path source) throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to normalize " + source, e);
+        }
+        try {
+            BufferedImage decoded = decode(source, maxDimension);
+            if (decoded == null) {
+                return null;
+            }
+
+            Path image = source.resolveSibling(source.getFileName() + ".jpg");
+            Path thumbnail = source.resolveSibling(source.getFileName() + ".thumb.jpg");
+            writeJpeg(scaleToFit(decoded, maxDimension), quality, image);
+            writeJpeg(scaleToFit(decoded, thumbnailDimension), thumbnailQuality, thumbnail);
+
+            NormalizedImage normalized = new NormalizedImage(image, Files.size(image), thumbnail, Files.size(thumbnail));
+            logger.info("Normalized {}: {} bytes -> {} bytes, thumbnail {} bytes",
+                    source.getFileName(), Files.size(source), normalized.getImageSize(), normalized.getThumbnailSize());
+            return normalized;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private BufferedImage decode(Path source, int targetDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true); // ignoreMetadata: EXIF and friends are never parsed
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+
+                // Subsample while decoding so huge scans are never fully rasterised
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / (targetDimension * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } catch (IOException | RuntimeException e) {
+                // A recognised header over a truncated or corrupt body; plugin decoders also throw unchecked
+                // exceptions on malformed data. Either way the original is stored rather than failing the upload.
+                logger.warn("Could not decode {}, storing it as uploaded: {}", source.getFileName(), e.toString());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scaleToFit(BufferedImage source, int dimension) {
+        double scale = Math.min(1.0, (double) dimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // Always redraw onto an opaque RGB canvas: JPEG has no alpha, and this drops any embedded colour metadata
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void writeJpeg(BufferedImage image, float jpegQuality, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (OutputStream out = Files.newOutputStream(target);
+                ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.aurionpro.bank.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Filesystem backend for on-prem deployments and tests.
+// Blobs are sharded by the first two byte pairs of their digest (ab/cd/abcd...) to keep directories small.
+@Component
+@ConditionalOnProperty(name = "app.document-storage.type", havingValue = "local")
+public class LocalDocumentStorage implements DocumentStorage {
+
+    // app.document-storage.buffer-size is Cloudinary's upload chunk size; a local copy gains nothing past this
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final Path baseDir;
+
+    public LocalDocumentStorage(@Value("${app.document-storage.local.base-dir:documents}") String baseDir) throws IOException {
+        this.baseDir = Paths.get(baseDir).toAbsolutePath().normalize();
+        Files.createDirectories(this.baseDir);
+    }
+
+    @Override
+    public String store(String key, InputStream content, long size) throws IOException {
+        String location = key.length() > 4
+                ? key.substring(0, 2) + "/" + key.substring(2, 4) + "/" + key
+                : key;
+        Path target = resolve(location);
+        if (Files.exists(target)) {
+            // Content addressed: an existing blob with this key already holds these bytes
+            return location;
+        }
+        Files.createDirectories(target.getParent());
+
+        // Each upload writes its own temp file, so concurrent uploads of the same bytes never share one
+        Path partial = Files.createTempFile(target.getParent(), target.getFileName() + "-", ".part");
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try {
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            publish(partial, target);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return location;
+    }
+
+    // Links the finished file into place without replacing anything. If another upload of the same
+    // content got there first, the existing blob already holds these bytes and this upload is done.
+    private static void publish(Path partial, Path target) throws IOException {
+        try {
+            Files.createLink(target, partial);
+        } catch (FileAlreadyExistsException e) {
+            // Same key, same digest: nothing to do
+        } catch (UnsupportedOperationException e) {
+            // Filesystems without hard links. Where rename replaces, a racing upload swaps in identical bytes atomically.
+            try {
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException alreadyStored) {
+                // Same key, same digest: nothing to do
+            }
+        }
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        return Files.newInputStream(resolve(location));
+    }
+
+    @Override
+    public Optional<Path> localPath(String location) {
+        try {
+            return Optional.of(resolve(location));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path resolve(String key) throws IOException {
+        Path path = baseDir.resolve(key).normalize();
+        if (!path.startsWith(baseDir)) {
+            throw new IOException("Document key escapes the storage directory: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,16 @@
+package com.aurionpro.bank.storage;
+
+import java.nio.file.Path;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Re-encoded image and review thumbnail written next to the spooled upload
+@Data
+@AllArgsConstructor
+public class NormalizedImage {
+    private Path image;
+    private long imageSize;
+    private Path thumbnail;
+    private long thumbnailSize;
+}
@@ -0,0 +1,15 @@
+package com.aurionpro.bank.storage;
+
+import java.nio.file.Path;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// An upload copied to local disk, with the SHA-256 digest computed while it was copied
+@Data
+@AllArgsConstructor
+public class SpooledUpload {
+    private Path path;
+    private String digest;
+    private long size;
+}
@@ -3,7 +3,8 @@ package com.aurionpro.bank;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Requests that exceed their @SqlBudget throw instead of logging, so over-budget endpoints fail the test
+@SpringBootTest(properties = "app.sql-budget.mode=FAIL")
 class BankApplicationFinalApplicationTests {
 
 	@Test
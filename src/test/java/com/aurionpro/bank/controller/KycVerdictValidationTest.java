@@ -0,0 +1,101 @@
+package com.aurionpro.bank.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.security.Principal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.aurionpro.bank.dto.KycVerdictResult;
+import com.aurionpro.bank.exception.GlobalExceptionHandler;
+import com.aurionpro.bank.service.AdminService;
+import com.aurionpro.bank.service.CaptchaService;
+import com.aurionpro.bank.service.CustomerImportService;
+import com.aurionpro.bank.service.CustomerSearchService;
+import com.aurionpro.bank.service.DocumentService;
+import com.aurionpro.bank.service.FlightRecordingService;
+import com.aurionpro.bank.service.KycReviewService;
+import com.aurionpro.bank.service.MetricsService;
+
+class KycVerdictValidationTest {
+
+    private final Principal reviewer = () -> "admin@bank.com";
+    private KycReviewService kycReviewService;
+    private LocalValidatorFactoryBean validator;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        kycReviewService = mock(KycReviewService.class);
+        AdminController controller = new AdminController(mock(AdminService.class), mock(CaptchaService.class),
+                mock(DocumentService.class), kycReviewService, mock(CustomerImportService.class),
+                mock(CustomerSearchService.class), mock(MetricsService.class), mock(FlightRecordingService.class));
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setValidator(validator)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        validator.close();
+    }
+
+    @Test
+    void acceptsValidVerdicts() throws Exception {
+        when(kycReviewService.submitVerdicts(any(), anyList())).thenReturn(new KycVerdictResult(1, 1));
+
+        mockMvc.perform(post("/api/admin/kyc/verdicts").principal(reviewer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"documentId\":1,\"kycStatus\":\"APPROVED\"}]"))
+                .andExpect(status().isOk());
+
+        verify(kycReviewService).submitVerdicts(any(), anyList());
+    }
+
+    @Test
+    void rejectsVerdictWithMissingFields() throws Exception {
+        mockMvc.perform(post("/api/admin/kyc/verdicts").principal(reviewer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"documentId\":1,\"kycStatus\":\"APPROVED\"},{\"kycStatus\":\"REJECTED\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("verdicts[1].documentId: Document id is required"));
+
+        verifyNoInteractions(kycReviewService);
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() throws Exception {
+        mockMvc.perform(post("/api/admin/kyc/verdicts").principal(reviewer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i <= KycReviewService.MAX_VERDICTS; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"documentId\":").append(i + 1).append(",\"kycStatus\":\"APPROVED\"}");
+        }
+        mockMvc.perform(post("/api/admin/kyc/verdicts").principal(reviewer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.append("]").toString()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(kycReviewService);
+    }
+}
@@ -0,0 +1,32 @@
+package com.aurionpro.bank.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.aurionpro.bank.metrics.SqlBudget;
+
+// A new endpoint cannot ship without stating how much SQL it may run
+class SqlBudgetCoverageTest {
+
+    @Test
+    void everyEndpointHasASqlBudget() {
+        List<String> missing = new ArrayList<>();
+        for (Class<?> controller : List.of(AdminController.class, AuthController.class, CustomerController.class)) {
+            boolean classBudget = AnnotatedElementUtils.hasAnnotation(controller, SqlBudget.class);
+            for (Method method : controller.getDeclaredMethods()) {
+                if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)
+                        && !classBudget && !AnnotatedElementUtils.hasAnnotation(method, SqlBudget.class)) {
+                    missing.add(controller.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+        assertEquals(List.of(), missing);
+    }
+}
@@ -0,0 +1,109 @@
+package com.aurionpro.bank.id;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class NodeIdLeaseManagerTest {
+
+    private static final String CLAIM = "INSERT INTO id_node_leases";
+    private static final String TAKE_OVER = "UPDATE id_node_leases SET owner";
+    private static final String RENEW = "UPDATE id_node_leases SET lease_expires_at";
+
+    private JdbcTemplate jdbcTemplate;
+    private NodeIdLeaseManager leaseManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        update(CLAIM).thenReturn(1);
+        leaseManager = new NodeIdLeaseManager(jdbcTemplate, -1, 600, 30);
+        leaseManager.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TimeOrderedIdGenerator.install(null);
+    }
+
+    private OngoingStubbing<Integer> update(String statement) {
+        return when(jdbcTemplate.update(startsWith(statement), any(Object[].class)));
+    }
+
+    // Same as the lease running out while the database could not be reached
+    private static void expire(TimeOrderedIdGenerator generator) {
+        generator.extendLease(System.currentTimeMillis() - 1);
+    }
+
+    @Test
+    void claimedGeneratorStopsAtItsLocalDeadline() {
+        TimeOrderedIdGenerator generator = TimeOrderedIdGenerator.current();
+        assertTrue(generator.nextId() > 0);
+
+        expire(generator);
+
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void failedRenewalKeepsIssuingWhileTheLeaseIsStillValid() {
+        update(RENEW).thenThrow(new DataAccessResourceFailureException("Communications link failure"));
+
+        leaseManager.renewLease();
+
+        assertTrue(TimeOrderedIdGenerator.current().nextId() > 0);
+    }
+
+    @Test
+    void failedRenewalPastTheDeadlineUninstallsTheGenerator() {
+        TimeOrderedIdGenerator generator = TimeOrderedIdGenerator.current();
+        expire(generator);
+        update(RENEW).thenThrow(new DataAccessResourceFailureException("Communications link failure"));
+
+        leaseManager.renewLease();
+
+        assertThrows(IllegalStateException.class, TimeOrderedIdGenerator::current);
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void renewalAfterAnOutageResumesTheSameGenerator() {
+        TimeOrderedIdGenerator generator = TimeOrderedIdGenerator.current();
+        expire(generator);
+        update(RENEW).thenThrow(new DataAccessResourceFailureException("Communications link failure")).thenReturn(1);
+        leaseManager.renewLease();
+
+        leaseManager.renewLease();
+
+        assertSame(generator, TimeOrderedIdGenerator.current());
+        assertTrue(generator.nextId() > 0);
+    }
+
+    @Test
+    void lostLeaseStopsIdsWhenNoOtherNodeIdIsFree() {
+        update(RENEW).thenReturn(0);
+        update(CLAIM).thenThrow(new DuplicateKeyException("taken"));
+        update(TAKE_OVER).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, leaseManager::renewLease);
+
+        assertThrows(IllegalStateException.class, TimeOrderedIdGenerator::current);
+    }
+
+    @Test
+    void rejectsMarginThatLeavesNoLease() {
+        assertThrows(IllegalArgumentException.class, () -> new NodeIdLeaseManager(jdbcTemplate, -1, 30, 30));
+    }
+}
@@ -0,0 +1,122 @@
+package com.aurionpro.bank.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TimeOrderedIdGeneratorTest {
+
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int LOW_BITS = TimeOrderedIdGenerator.NODE_BITS + TimeOrderedIdGenerator.SEQUENCE_BITS;
+
+    @Test
+    void idsIncreaseAcrossSequenceRollover() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3);
+        // Far more than the 64 ids one millisecond holds
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous, "id " + id + " after " + previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void encodesNodeIdAndStaysWithinJavaScriptSafeIntegers() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID);
+        long id = generator.nextId();
+
+        assertEquals(TimeOrderedIdGenerator.MAX_NODE_ID, (id >> TimeOrderedIdGenerator.SEQUENCE_BITS) & TimeOrderedIdGenerator.MAX_NODE_ID);
+        assertTrue(id < (1L << 53));
+        // The timestamp part is milliseconds since 2024-01-01
+        assertTrue((id >> LOW_BITS) > 0);
+    }
+
+    @Test
+    void nodesNeverCollide() {
+        TimeOrderedIdGenerator first = new TimeOrderedIdGenerator(1);
+        TimeOrderedIdGenerator second = new TimeOrderedIdGenerator(2);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(ids.add(first.nextId()));
+            assertTrue(ids.add(second.nextId()));
+        }
+    }
+
+    @Test
+    void concurrentCallersGetUniqueIds() throws Exception {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(5);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < 2_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> unique = new HashSet<>();
+            for (Future<List<Long>> result : results) {
+                unique.addAll(result.get());
+            }
+            assertEquals(8_000, unique.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void absorbsSmallBackwardClockSteps() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0);
+        long ahead = System.currentTimeMillis() + 50;
+        ReflectionTestUtils.setField(generator, "lastTimestamp", ahead);
+
+        long id = generator.nextId();
+
+        assertEquals(ahead, (id >> LOW_BITS) + EPOCH);
+    }
+
+    @Test
+    void refusesLargeBackwardClockJumps() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0);
+        ReflectionTestUtils.setField(generator, "lastTimestamp", System.currentTimeMillis() + 60_000);
+
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void rejectsNodeIdsOutsideItsBits() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void currentRequiresAnInstalledGenerator() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+        try {
+            TimeOrderedIdGenerator.install(null);
+            assertThrows(IllegalStateException.class, TimeOrderedIdGenerator::current);
+
+            TimeOrderedIdGenerator.install(generator);
+            assertSame(generator, TimeOrderedIdGenerator.current());
+        } finally {
+            TimeOrderedIdGenerator.install(null);
+        }
+    }
+}
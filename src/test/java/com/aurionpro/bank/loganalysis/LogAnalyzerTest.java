@@ -0,0 +1,57 @@
+package com.aurionpro.bank.loganalysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogAnalyzerTest {
+
+    private static final String LOGGER = "com.aurionpro.bank.service.CustomerServiceImpl";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sampledJsonLinesAreScaledByTheirRate() throws Exception {
+        Path log = dir.resolve("spring.json");
+        Files.write(log, List.of(
+                json("Processing credit transaction for customer 1", 10),
+                json("Processing credit transaction for customer 2", 1),
+                json("Processing debit transaction for customer 3", 1)));
+
+        LogSummary summary = new LogAnalyzer(1).analyze(List.of(log));
+
+        assertEquals(3, summary.getEvents());
+        assertEquals(1, summary.getSampledEvents());
+        assertEquals(11L, summary.getOperationsByMinute().get("2026-10-19T10:15").get("credit"));
+        assertEquals(1L, summary.getOperationsByMinute().get("2026-10-19T10:15").get("debit"));
+        assertTrue(summary.isEstimated("2026-10-19T10:15", "credit"));
+        assertFalse(summary.isEstimated("2026-10-19T10:15", "debit"));
+    }
+
+    @Test
+    void plainLinesCountOnce() throws Exception {
+        Path log = dir.resolve("spring.log");
+        Files.write(log, List.of(
+                "2026-10-19T10:15:02.123+05:30  INFO 4242 --- [nio-8080-exec-1] " + LOGGER
+                        + " : Processing transfer transaction for customer 1"));
+
+        LogSummary summary = new LogAnalyzer(1).analyze(List.of(log));
+
+        assertEquals(0, summary.getSampledEvents());
+        assertEquals(1L, summary.getOperationsByMinute().get("2026-10-19T10:15").get("transfer"));
+    }
+
+    private static String json(String message, int sampleRate) {
+        return "{\"timestamp\":\"2026-10-19T10:15:02.123+05:30\",\"level\":\"INFO\",\"thread\":\"http-nio-8080-exec-1\","
+                + "\"logger\":\"" + LOGGER + "\"" + (sampleRate > 1 ? ",\"sampleRate\":" + sampleRate : "")
+                + ",\"message\":\"" + message + "\"}";
+    }
+}
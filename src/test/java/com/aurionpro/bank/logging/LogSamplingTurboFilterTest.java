@@ -0,0 +1,91 @@
+package com.aurionpro.bank.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import com.aurionpro.bank.service.CustomerServiceImpl;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+// Runs the shipped sampling rule in a logger context configured like logback-spring.xml
+class LogSamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private LogSamplingTurboFilter filter;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        context = new LoggerContext();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.toLevel(properties.getProperty("logging.level.root")));
+
+        filter = new LogSamplingTurboFilter();
+        filter.setContext(context);
+        filter.setRules(properties.getProperty("app.logging.sampling"));
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        root.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private long kept(Level level) {
+        return appender.list.stream().filter(event -> event.getLevel() == level).count();
+    }
+
+    @Test
+    void shippedRuleSamplesTheTransactionPathInfoLines() {
+        Logger logger = context.getLogger(CustomerServiceImpl.class);
+        for (int i = 0; i < 1000; i++) {
+            logger.info("Processing transfer transaction for customer: {}, Amount: {}", "c@bank.com", 100.0);
+        }
+
+        assertEquals(100, kept(Level.INFO));
+        assertEquals(10, filter.sampleRate(CustomerServiceImpl.class.getName(), Level.INFO));
+        assertEquals(900L, filter.getDroppedByRule().values().iterator().next());
+    }
+
+    @Test
+    void shippedRuleKeepsEveryWarningAndError() {
+        Logger logger = context.getLogger(CustomerServiceImpl.class);
+        for (int i = 0; i < 50; i++) {
+            logger.warn("Insufficient balance for transfer");
+            logger.error("Transaction failed for customer: {}. Account {} is not active.", "c@bank.com", "0010000427");
+        }
+
+        assertEquals(50, kept(Level.WARN));
+        assertEquals(50, kept(Level.ERROR));
+        assertEquals(1, filter.sampleRate(CustomerServiceImpl.class.getName(), Level.WARN));
+    }
+
+    @Test
+    void otherLoggersAreNotSampled() {
+        Logger logger = context.getLogger("com.aurionpro.bank.service.AdminServiceImpl");
+        for (int i = 0; i < 100; i++) {
+            logger.info("Adding a new bank with name: {}", "Aurion");
+        }
+
+        assertEquals(100, kept(Level.INFO));
+    }
+}
@@ -0,0 +1,59 @@
+package com.aurionpro.bank.metrics;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.aurionpro.bank.exception.CustomerServiceException;
+
+class EndpointMetricsFilterTest {
+
+    @RestController
+    static class HandlingController {
+
+        @GetMapping("/caught")
+        ResponseEntity<String> caught() {
+            try {
+                throw new CustomerServiceException("Insufficient balance");
+            } catch (CustomerServiceException e) {
+                EndpointMetricsFilter.recordHandledFailure(e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+        }
+
+        @GetMapping("/rejected")
+        ResponseEntity<String> rejected() {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    private final EndpointMetrics endpointMetrics = mock(EndpointMetrics.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new HandlingController())
+            .addFilters(new EndpointMetricsFilter(endpointMetrics, true))
+            .build();
+
+    @Test
+    void exceptionCaughtByTheHandlerIsTheOutcome() throws Exception {
+        mockMvc.perform(get("/caught")).andExpect(status().isBadRequest());
+
+        verify(endpointMetrics).record(eq("HandlingController.caught"), eq("CustomerServiceException"), anyLong());
+    }
+
+    @Test
+    void errorStatusWithoutAnExceptionIsRecordedByStatus() throws Exception {
+        mockMvc.perform(get("/rejected")).andExpect(status().isNotFound());
+
+        verify(endpointMetrics).record(eq("HandlingController.rejected"), eq("http_404"), anyLong());
+    }
+}
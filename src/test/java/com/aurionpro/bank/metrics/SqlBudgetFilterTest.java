@@ -0,0 +1,124 @@
+package com.aurionpro.bank.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.aurionpro.bank.exception.SqlBudgetExceededException;
+
+class SqlBudgetFilterTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    // Each query reads one row through the instrumented DataSource, as a repository call would
+    @SqlBudget(statements = 1, rows = 1)
+    @RestController
+    class BudgetedController {
+
+        @GetMapping("/within")
+        @SqlBudget(statements = 2, rows = 2)
+        String within() {
+            query(2);
+            return "ok";
+        }
+
+        @GetMapping("/over-statements")
+        @SqlBudget(statements = 2)
+        String overStatements() {
+            query(3);
+            return "ok";
+        }
+
+        @GetMapping("/over-rows")
+        @SqlBudget(statements = 5, rows = 2)
+        String overRows() {
+            query(3);
+            return "ok";
+        }
+
+        @GetMapping("/class-budget")
+        String classBudget() {
+            query(2);
+            return "ok";
+        }
+
+        private void query(int times) {
+            for (int i = 0; i < times; i++) {
+                jdbcTemplate.query("select id from customers where id = ?", resultSet -> { }, i);
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            PreparedStatement statement = mock(PreparedStatement.class);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.next()).thenReturn(true, false);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            return statement;
+        });
+        jdbcTemplate = new JdbcTemplate(new InstrumentedDataSource(target, new PersistenceMetrics(200, 10)));
+    }
+
+    private MockMvc mockMvc(SqlBudgetFilter.Mode mode) {
+        return MockMvcBuilders.standaloneSetup(new BudgetedController())
+                .addFilters(new SqlBudgetFilter(new PersistenceMetrics(200, 10), mode))
+                .build();
+    }
+
+    @Test
+    void requestWithinBudgetSucceeds() throws Exception {
+        mockMvc(SqlBudgetFilter.Mode.FAIL).perform(get("/within")).andExpect(status().isOk());
+    }
+
+    @Test
+    void tooManyStatementsFailInFailMode() {
+        MockMvc mockMvc = mockMvc(SqlBudgetFilter.Mode.FAIL);
+
+        SqlBudgetExceededException e = assertThrows(SqlBudgetExceededException.class,
+                () -> mockMvc.perform(get("/over-statements")));
+        assertTrue(e.getMessage().contains("BudgetedController.overStatements"), e.getMessage());
+        assertTrue(e.getMessage().contains("ran 3 statements"), e.getMessage());
+    }
+
+    @Test
+    void tooManyRowsFailInFailMode() {
+        MockMvc mockMvc = mockMvc(SqlBudgetFilter.Mode.FAIL);
+
+        assertThrows(SqlBudgetExceededException.class, () -> mockMvc.perform(get("/over-rows")));
+    }
+
+    @Test
+    void classBudgetAppliesToMethodsWithoutTheirOwn() {
+        MockMvc mockMvc = mockMvc(SqlBudgetFilter.Mode.FAIL);
+
+        assertThrows(SqlBudgetExceededException.class, () -> mockMvc.perform(get("/class-budget")));
+    }
+
+    @Test
+    void overBudgetRequestOnlyLogsInLogMode() throws Exception {
+        mockMvc(SqlBudgetFilter.Mode.LOG).perform(get("/over-statements")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,68 @@
+package com.aurionpro.bank.reference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.aurionpro.bank.entity.Bank;
+import com.aurionpro.bank.repo.BankRepo;
+import com.aurionpro.bank.repo.RoleRepo;
+
+class ReferenceDataCacheTest {
+
+    private BankRepo bankRepo;
+    private ReferenceDataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        RoleRepo roleRepo = mock(RoleRepo.class);
+        bankRepo = mock(BankRepo.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(roleRepo.findAll()).thenReturn(List.of());
+        when(bankRepo.findAll()).thenReturn(List.of(bank(1, "First")));
+        cache = new ReferenceDataCache(roleRepo, bankRepo, transactionManager, 5_000);
+        cache.load();
+    }
+
+    private static Bank bank(long bankId, String bankName) {
+        Bank bank = new Bank();
+        bank.setBankId(bankId);
+        bank.setBankName(bankName);
+        return bank;
+    }
+
+    @Test
+    void reloadsWhenTheDatabaseDrifted() {
+        when(bankRepo.findAll()).thenReturn(List.of(bank(1, "First"), bank(2, "Second")));
+
+        cache.verifyAgainstDatabase();
+
+        assertEquals(2, cache.getSnapshot().bankCount());
+    }
+
+    @Test
+    void keepsASnapshotSwappedInWhileVerifying() {
+        // The save lands after the verification took its snapshot but before the load returns
+        when(bankRepo.findAll()).thenAnswer(invocation -> {
+            cache.bankSaved(bank(3, "Third"));
+            return List.of(bank(1, "First"), bank(2, "Second"));
+        });
+
+        cache.verifyAgainstDatabase();
+
+        ReferenceDataSnapshot snapshot = cache.getSnapshot();
+        assertNotNull(snapshot.bank(3));
+        assertNull(snapshot.bank(2));
+    }
+}
@@ -0,0 +1,85 @@
+package com.aurionpro.bank.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.aurionpro.bank.enums.CustomerSortField;
+
+class CustomerRepoImplTest {
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private CustomerRepoImpl repo;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        repo = new CustomerRepoImpl(jdbcTemplate);
+    }
+
+    private String sql() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
+        return sql.getValue();
+    }
+
+    private MapSqlParameterSource params() {
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(anyString(), params.capture(), any(RowMapper.class));
+        return params.getValue();
+    }
+
+    @Test
+    void firstPageHasNoKeysetPredicate() {
+        repo.findSummaries(CustomerSortField.NAME, Sort.Direction.ASC, null, 21);
+
+        String sql = sql();
+        assertFalse(sql.contains(":k0"));
+        assertTrue(sql.matches("(?s).*FROM customers c\\s+ORDER BY c.last_name ASC, c.first_name ASC, c.customer_id ASC LIMIT :limit.*"));
+        assertEquals(21, params().getValue("limit"));
+    }
+
+    @Test
+    void compositeSortNestsTiesOnEachLaterColumn() {
+        repo.findSummaries(CustomerSortField.NAME, Sort.Direction.ASC, List.of("Doe", "Jane", 7), 21);
+
+        assertTrue(sql().contains("WHERE (c.last_name > :k0 OR (c.last_name = :k0 AND "
+                + "(c.first_name > :k1 OR (c.first_name = :k1 AND c.customer_id > :k2)))) ORDER BY"));
+        MapSqlParameterSource params = params();
+        assertEquals("Doe", params.getValue("k0"));
+        assertEquals("Jane", params.getValue("k1"));
+        assertEquals(7, params.getValue("k2"));
+    }
+
+    @Test
+    void descendingSortSeeksBackwards() {
+        repo.findSummaries(CustomerSortField.NAME, Sort.Direction.DESC, List.of("Doe", "Jane", 7), 21);
+
+        String sql = sql();
+        assertTrue(sql.contains("WHERE (c.last_name < :k0 OR (c.last_name = :k0 AND "
+                + "(c.first_name < :k1 OR (c.first_name = :k1 AND c.customer_id < :k2)))) ORDER BY"));
+        assertTrue(sql.contains("ORDER BY c.last_name DESC, c.first_name DESC, c.customer_id DESC LIMIT :limit"));
+    }
+
+    @Test
+    void singleColumnSortIsAPlainRangeCondition() {
+        repo.findSummaries(CustomerSortField.EMAIL, Sort.Direction.ASC, List.of("m@bank.com"), 11);
+
+        assertTrue(sql().contains("WHERE c.email > :k0 ORDER BY c.email ASC LIMIT :limit"));
+        assertEquals("m@bank.com", params().getValue("k0"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.aurionpro.bank.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CustomerIndexDataTest {
+
+    private static CustomerSearchEntry customer(int id, String firstName, String lastName) {
+        return new CustomerSearchEntry(id, firstName, lastName, firstName.toLowerCase() + id + "@example.com", null);
+    }
+
+    private static List<Integer> search(CustomerIndexData index, String term, int limit) {
+        List<CustomerSearchEntry> results = new ArrayList<>();
+        index.search(List.of(term), limit, results, new ArrayList<>());
+        return results.stream().map(entry -> entry.customerId).toList();
+    }
+
+    @Test
+    void profileChangeOnAnOlderCustomerIsStillFound() {
+        CustomerIndexData index = new CustomerIndexData(2);
+        for (int id = 1; id <= 22; id++) {
+            index.put(customer(id, "Amit", id > 20 ? "Joshi" : "Rao"));
+        }
+        // 21 and 22 leave stale "joshi" postings behind; renaming 3 then files a low id after them
+        index.put(customer(21, "Amit", "Shah"));
+        index.put(customer(22, "Amit", "Shah"));
+        index.put(customer(3, "Ravi", "Joshi"));
+
+        assertEquals(List.of(3), search(index, "joshi", 10));
+    }
+
+    @Test
+    void reAddedCustomerIsListedOnce() {
+        CustomerIndexData index = new CustomerIndexData(100);
+        index.put(customer(5, "Meera", "Iyer"));
+        long postings = index.postingCount();
+        index.remove(5);
+        index.put(customer(5, "Meera", "Iyer"));
+
+        assertEquals(postings, index.postingCount());
+        assertEquals(List.of(5), search(index, "iyer", 10));
+    }
+
+    @Test
+    void reportsTruncationOnlyWhenCandidatesWereLeftUnverified() {
+        CustomerIndexData index = new CustomerIndexData(3);
+        for (int id = 1; id <= 3; id++) {
+            index.put(customer(id, "Rahul", "Shah"));
+        }
+        List<CustomerSearchEntry> results = new ArrayList<>();
+        assertFalse(index.search(List.of("shah"), 10, results, new ArrayList<>()));
+        assertEquals(3, results.size());
+
+        index.put(customer(4, "Rahul", "Shah"));
+        results.clear();
+        assertTrue(index.search(List.of("shah"), 10, results, new ArrayList<>()));
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    void mergedPartitionsKeepListsSortedWithoutDuplicates() {
+        CustomerIndexData first = new CustomerIndexData(100);
+        first.put(customer(1, "Anil", "Mehta"));
+        first.put(customer(2, "Anil", "Mehta"));
+        CustomerIndexData second = new CustomerIndexData(100);
+        second.put(customer(3, "Anil", "Mehta"));
+
+        CustomerIndexData merged = new CustomerIndexData(100);
+        merged.merge(first);
+        merged.merge(second);
+
+        assertEquals(List.of(1, 2, 3), search(merged, "mehta", 10));
+    }
+
+    @Test
+    void postingListInsertsInOrder() {
+        PostingList list = new PostingList();
+        for (int id : new int[] { 5, 1, 9, 3, 5, 7 }) {
+            list.add(id);
+        }
+        PostingList other = new PostingList();
+        other.add(2);
+        other.add(9);
+        list.addAll(other);
+
+        int[] ids = new int[list.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = list.get(i);
+        }
+        assertEquals(List.of(1, 2, 3, 5, 7, 9), Arrays.stream(ids).boxed().toList());
+    }
+}
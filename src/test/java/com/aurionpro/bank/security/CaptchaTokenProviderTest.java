@@ -0,0 +1,80 @@
+package com.aurionpro.bank.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CaptchaTokenProviderTest {
+
+    private static final String JWT_SECRET = "ieb5hIynsH0oR5n900OVWZSb/6IgwiERpus6YQFA9r0=";
+
+    private static CaptchaTokenProvider provider(String captchaSecret, long expiration, int replayCacheSize) {
+        CaptchaTokenProvider provider = new CaptchaTokenProvider(captchaSecret, JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "captchaExpiration", expiration);
+        ReflectionTestUtils.setField(provider, "replayCacheSize", replayCacheSize);
+        return provider;
+    }
+
+    @Test
+    void answerIsAcceptedOnce() {
+        CaptchaTokenProvider provider = provider("", 120_000, 100);
+        String token = provider.generateToken("x7k2p");
+
+        assertTrue(provider.validateToken(token, "x7k2p"));
+        assertFalse(provider.validateToken(token, "x7k2p"));
+    }
+
+    @Test
+    void wrongAnswerSpendsTheChallenge() {
+        CaptchaTokenProvider provider = provider("", 120_000, 100);
+        String token = provider.generateToken("x7k2p");
+
+        assertFalse(provider.validateToken(token, "wrong"));
+        assertFalse(provider.validateToken(token, "x7k2p"));
+    }
+
+    @Test
+    void forgedTokensDoNotFillTheReplayCache() {
+        CaptchaTokenProvider provider = provider("", 120_000, 2);
+        String[] parts = provider.generateToken("x7k2p").split("\\.");
+        for (int i = 0; i < 5; i++) {
+            // A made-up nonce under someone else's signatures
+            assertFalse(provider.validateToken(parts[0] + ".forged" + i + "." + parts[2] + "." + parts[3], "x7k2p"));
+        }
+
+        assertTrue(provider.validateToken(provider.generateToken("a"), "a"));
+    }
+
+    @Test
+    void replayIsRejectedAcrossARotation() throws Exception {
+        CaptchaTokenProvider provider = provider("", 1000, 100);
+        // The first answer starts a generation that rotates after one expiration period
+        assertTrue(provider.validateToken(provider.generateToken("first"), "first"));
+        Thread.sleep(600);
+        String token = provider.generateToken("x7k2p");
+        assertTrue(provider.validateToken(token, "x7k2p"));
+
+        // Past the rotation, still inside the token's lifetime: the nonce now sits in the previous generation
+        Thread.sleep(500);
+        assertFalse(provider.validateToken(token, "x7k2p"));
+    }
+
+    @Test
+    void fullReplayCacheRefusesFurtherAnswers() {
+        CaptchaTokenProvider provider = provider("", 120_000, 2);
+        assertTrue(provider.validateToken(provider.generateToken("a"), "a"));
+        assertTrue(provider.validateToken(provider.generateToken("b"), "b"));
+
+        assertFalse(provider.validateToken(provider.generateToken("c"), "c"));
+    }
+
+    @Test
+    void derivedKeyDiffersFromTheJwtSecret() {
+        CaptchaTokenProvider derived = provider("", 120_000, 100);
+        CaptchaTokenProvider jwtKeyed = provider(JWT_SECRET, 120_000, 100);
+
+        assertFalse(jwtKeyed.validateToken(derived.generateToken("x7k2p"), "x7k2p"));
+    }
+}
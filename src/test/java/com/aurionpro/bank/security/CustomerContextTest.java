@@ -0,0 +1,78 @@
+package com.aurionpro.bank.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.aurionpro.bank.repo.CustomerAccountRow;
+import com.aurionpro.bank.repo.CustomerRepo;
+
+class CustomerContextTest {
+
+    private CustomerRepo customerRepo;
+    private CustomerContext customerContext;
+
+    @BeforeEach
+    void setUp() {
+        customerRepo = mock(CustomerRepo.class);
+        customerContext = new CustomerContext(customerRepo);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("jane@bank.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static CustomerAccountRow row(Long accountId, String accountNumber) {
+        CustomerAccountRow row = mock(CustomerAccountRow.class);
+        when(row.getCustomerId()).thenReturn(7);
+        when(row.getEmail()).thenReturn("jane@bank.com");
+        when(row.getAccountId()).thenReturn(accountId);
+        when(row.getAccountNumber()).thenReturn(accountNumber);
+        return row;
+    }
+
+    @Test
+    void resolvesOnceAndSharesOneAccountIdSet() {
+        List<CustomerAccountRow> rows = List.of(row(11L, "0010000011"), row(12L, "0010000029"));
+        when(customerRepo.findAccountRowsByEmail("jane@bank.com")).thenReturn(rows);
+
+        Set<Long> accountIds = customerContext.getAccountIds();
+
+        assertEquals(Set.of(11L, 12L), accountIds);
+        assertSame(accountIds, customerContext.getAccountIds());
+        assertThrows(UnsupportedOperationException.class, () -> accountIds.add(13L));
+        assertTrue(customerContext.ownsAccount(12L));
+        assertFalse(customerContext.ownsAccount(13L));
+        assertFalse(customerContext.ownsAccount(null));
+        assertTrue(customerContext.ownsAccountNumber("0010000011"));
+        verify(customerRepo, times(1)).findAccountRowsByEmail("jane@bank.com");
+    }
+
+    @Test
+    void customerWithoutAccountsOwnsNothing() {
+        List<CustomerAccountRow> rows = List.of(row(null, null));
+        when(customerRepo.findAccountRowsByEmail("jane@bank.com")).thenReturn(rows);
+
+        assertTrue(customerContext.getAccountIds().isEmpty());
+        assertFalse(customerContext.ownsAccount(11L));
+        assertEquals(7, customerContext.getCustomerId());
+    }
+}
@@ -0,0 +1,115 @@
+package com.aurionpro.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.aurionpro.bank.dto.AccountNumberCapacity;
+import com.aurionpro.bank.entity.AccountNumberBlock;
+import com.aurionpro.bank.repo.AccountNumberBlockRepo;
+
+class AccountNumberAllocatorTest {
+
+    private AccountNumberBlockRepo blockRepo;
+    private AccountNumberAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        blockRepo = mock(AccountNumberBlockRepo.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        allocator = new AccountNumberAllocator(blockRepo, transactionManager, 100);
+    }
+
+    @Test
+    void issuesTenDigitNumbersWithBankPrefixAndCheckDigit() {
+        when(blockRepo.findForUpdate("007")).thenReturn(Optional.of(new AccountNumberBlock("007", 3)));
+
+        String first = allocator.nextAccountNumber(7);
+        String second = allocator.nextAccountNumber(7);
+
+        assertEquals(10, first.length());
+        assertTrue(first.startsWith("007000300"));
+        assertNotEquals(first, second);
+        assertTrue(AccountNumberAllocator.isWellFormed(first));
+        assertTrue(AccountNumberAllocator.isWellFormed(second));
+    }
+
+    @Test
+    void rejectsNumbersWithWrongCheckDigitLengthOrCharacters() {
+        String valid = AccountNumberAllocator.withCheckDigit("001000042");
+        char wrongDigit = (char) ('0' + (valid.charAt(9) - '0' + 1) % 10);
+
+        assertFalse(AccountNumberAllocator.isWellFormed(valid.substring(0, 9) + wrongDigit));
+        assertFalse(AccountNumberAllocator.isWellFormed(valid + "0"));
+        assertFalse(AccountNumberAllocator.isWellFormed("00100004a2"));
+        assertFalse(AccountNumberAllocator.isWellFormed(null));
+    }
+
+    @Test
+    void acceptsLegacyNumbersWhichNeverStartWithZero() {
+        assertTrue(AccountNumberAllocator.isWellFormed("4821937465"));
+        assertFalse(AccountNumberAllocator.isWellFormed("482193746"));
+    }
+
+    @Test
+    void retriesReservationAfterLockTimeoutAndDeadlock() {
+        when(blockRepo.findForUpdate("001"))
+                .thenThrow(new CannotAcquireLockException("lock wait timeout"))
+                .thenThrow(new DeadlockLoserDataAccessException("deadlock", null))
+                .thenReturn(Optional.of(new AccountNumberBlock("001", 0)));
+
+        assertTrue(AccountNumberAllocator.isWellFormed(allocator.nextAccountNumber(1)));
+        verify(blockRepo, times(3)).findForUpdate("001");
+    }
+
+    @Test
+    void givesUpAfterRepeatedLockFailures() {
+        when(blockRepo.findForUpdate("001")).thenThrow(new CannotAcquireLockException("lock wait timeout"));
+
+        assertThrows(CannotAcquireLockException.class, () -> allocator.nextAccountNumber(1));
+        verify(blockRepo, times(3)).findForUpdate("001");
+    }
+
+    @Test
+    void reportsRemainingSerialsPerPrefix() {
+        when(blockRepo.findAll()).thenReturn(List.of(new AccountNumberBlock("001", 250), new AccountNumberBlock("002", 10_000)));
+
+        List<AccountNumberCapacity> capacity = allocator.getCapacity();
+
+        assertEquals(new AccountNumberCapacity("001", 25_000, 975_000, 1_000_000), capacity.get(0));
+        assertEquals(new AccountNumberCapacity("002", 1_000_000, 0, 1_000_000), capacity.get(1));
+    }
+
+    @Test
+    void lastBlockEndsAtTheCeilingAndThenThrows() {
+        when(blockRepo.findForUpdate("001"))
+                .thenReturn(Optional.of(new AccountNumberBlock("001", 9_999)))
+                .thenReturn(Optional.of(new AccountNumberBlock("001", 10_000)));
+
+        String last = null;
+        for (int i = 0; i < 100; i++) {
+            last = allocator.nextAccountNumber(1);
+        }
+
+        assertEquals(AccountNumberAllocator.withCheckDigit("001999999"), last);
+        assertThrows(IllegalStateException.class, () -> allocator.nextAccountNumber(1));
+    }
+}
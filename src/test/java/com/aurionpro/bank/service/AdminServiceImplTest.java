@@ -0,0 +1,153 @@
+package com.aurionpro.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.aurionpro.bank.dto.BulkAccountStatusRequest;
+import com.aurionpro.bank.dto.BulkStatusResult;
+import com.aurionpro.bank.dto.CustomerSummaryDto;
+import com.aurionpro.bank.dto.KeysetPage;
+import com.aurionpro.bank.enums.AccountStatus;
+import com.aurionpro.bank.enums.CustomerSortField;
+import com.aurionpro.bank.exception.UserApiException;
+import com.aurionpro.bank.reference.ReferenceDataCache;
+import com.aurionpro.bank.repo.AccountRepo;
+import com.aurionpro.bank.repo.BankRepo;
+import com.aurionpro.bank.repo.CustomerRepo;
+import com.aurionpro.bank.repo.TransactionRepo;
+import com.aurionpro.bank.repo.UserRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class AdminServiceImplTest {
+
+    private CustomerRepo customerRepo;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private AdminServiceImpl adminService;
+
+    @BeforeEach
+    void setUp() {
+        customerRepo = mock(CustomerRepo.class);
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        adminService = new AdminServiceImpl(mock(AccountRepo.class), mock(TransactionRepo.class),
+                mock(AccountNumberAllocator.class), mock(BankRepo.class), mock(ReferenceDataCache.class),
+                mock(UserRepo.class), mock(PasswordEncoder.class), customerRepo, mock(MailService.class),
+                jdbcTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(adminService, "bulkChunkSize", 10);
+    }
+
+    private static List<CustomerSummaryDto> customers(int count) {
+        List<CustomerSummaryDto> customers = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            customers.add(new CustomerSummaryDto(i, "First" + i, "Last" + i, "c" + i + "@bank.com", 1, 0, 0, 0, 0, "NONE"));
+        }
+        return customers;
+    }
+
+    @Test
+    void cursorResumesAfterTheLastRowOfThePage() {
+        when(customerRepo.findSummaries(eq(CustomerSortField.NAME), eq(Sort.Direction.ASC), isNull(), eq(3)))
+                .thenReturn(customers(3));
+
+        KeysetPage<CustomerSummaryDto> first = adminService.viewCustomers(CustomerSortField.NAME, Sort.Direction.ASC, null, 2);
+
+        assertEquals(2, first.getContent().size());
+        assertTrue(first.isHasMore());
+
+        when(customerRepo.findSummaries(eq(CustomerSortField.NAME), eq(Sort.Direction.ASC), any(), eq(3)))
+                .thenReturn(customers(1));
+        KeysetPage<CustomerSummaryDto> second = adminService.viewCustomers(CustomerSortField.NAME, Sort.Direction.ASC,
+                first.getNextCursor(), 2);
+
+        // The second row was the last one shown, so the next page seeks past its sort key
+        verify(customerRepo).findSummaries(CustomerSortField.NAME, Sort.Direction.ASC, List.of("Last2", "First2", 2), 3);
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void cursorCannotBeReplayedAgainstAnotherSort() {
+        when(customerRepo.findSummaries(any(), any(), isNull(), eq(2))).thenReturn(customers(2));
+        String cursor = adminService.viewCustomers(CustomerSortField.EMAIL, Sort.Direction.ASC, null, 1).getNextCursor();
+
+        UserApiException otherField = assertThrows(UserApiException.class,
+                () -> adminService.viewCustomers(CustomerSortField.ID, Sort.Direction.ASC, cursor, 1));
+        UserApiException otherDirection = assertThrows(UserApiException.class,
+                () -> adminService.viewCustomers(CustomerSortField.EMAIL, Sort.Direction.DESC, cursor, 1));
+
+        assertEquals(HttpStatus.BAD_REQUEST, otherField.getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, otherDirection.getStatus());
+    }
+
+    @Test
+    void rejectsGarbledCursor() {
+        UserApiException e = assertThrows(UserApiException.class,
+                () -> adminService.viewCustomers(CustomerSortField.ID, Sort.Direction.ASC, "not*base64", 10));
+
+        assertEquals("Invalid cursor.", e.getMessage());
+    }
+
+    @Test
+    void bulkStatusStopsAtTheStatementCap() {
+        // Every statement fills its chunk, as a bank-wide change much larger than the cap would
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(10);
+
+        BulkStatusResult result = adminService.updateAccountStatus(
+                new BulkAccountStatusRequest(AccountStatus.INACTIVE, null, 1L, null));
+
+        assertEquals(AdminService.MAX_BULK_STATUS_STATEMENTS, result.getStatements());
+        assertEquals(AdminService.MAX_BULK_STATUS_STATEMENTS * 10, result.getAffectedAccounts());
+        assertFalse(result.isComplete());
+        verify(jdbcTemplate, times(AdminService.MAX_BULK_STATUS_STATEMENTS)).update(anyString(), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void bulkStatusCompletesWithinTheCap() {
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(10, 10, 3);
+
+        BulkStatusResult result = adminService.updateAccountStatus(
+                new BulkAccountStatusRequest(AccountStatus.INACTIVE, null, 1L, null));
+
+        assertEquals(3, result.getStatements());
+        assertEquals(23, result.getAffectedAccounts());
+        assertTrue(result.isComplete());
+    }
+
+    @Test
+    void bulkStatusRejectsMoreCustomersThanTheCapCanCover() {
+        List<Integer> customerIds = new ArrayList<>();
+        for (int i = 0; i <= AdminService.MAX_BULK_STATUS_STATEMENTS / 2 * 10; i++) {
+            customerIds.add(i);
+        }
+
+        UserApiException e = assertThrows(UserApiException.class, () -> adminService.updateAccountStatus(
+                new BulkAccountStatusRequest(AccountStatus.ACTIVE, customerIds, null, null)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        customerIds.remove(0);
+        assertTrue(adminService.updateAccountStatus(
+                new BulkAccountStatusRequest(AccountStatus.ACTIVE, customerIds, null, null)).isComplete());
+    }
+}
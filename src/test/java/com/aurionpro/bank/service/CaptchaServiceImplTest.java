@@ -0,0 +1,49 @@
+package com.aurionpro.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.code.kaptcha.impl.DefaultKaptcha;
+
+class CaptchaServiceImplTest {
+
+    private DefaultKaptcha kaptcha;
+
+    @BeforeEach
+    void setUp() {
+        kaptcha = mock(DefaultKaptcha.class);
+        when(kaptcha.createText()).thenReturn("x7k2p");
+        when(kaptcha.createImage(anyString())).thenReturn(new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB));
+    }
+
+    @Test
+    void demandIsPerSecondOfElapsedTime() {
+        CaptchaServiceImpl service = new CaptchaServiceImpl(kaptcha, 500, 0, 10, 50);
+        for (int i = 0; i < 20; i++) {
+            service.nextCaptcha();
+        }
+        // 20 captchas over a two second tick is 10 a second, of which the first sample contributes 30%
+        ReflectionTestUtils.setField(service, "lastTickNanos", System.nanoTime() - 2_000_000_000L);
+        service.refill();
+
+        assertEquals(3.0, service.getPoolStats().getDemandPerSecond(), 0.1);
+    }
+
+    @Test
+    void oneTickRendersAtMostTheConfiguredBatch() {
+        CaptchaServiceImpl service = new CaptchaServiceImpl(kaptcha, 500, 200, 10, 50);
+
+        service.refill();
+        assertEquals(50, service.getPoolStats().getPooled());
+        service.refill();
+        assertEquals(100, service.getPoolStats().getPooled());
+    }
+}
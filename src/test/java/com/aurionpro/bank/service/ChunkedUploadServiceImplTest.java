@@ -0,0 +1,77 @@
+package com.aurionpro.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.aurionpro.bank.dto.UploadSessionDto;
+import com.aurionpro.bank.enums.DocumentType;
+import com.aurionpro.bank.exception.DocumentUploadException;
+import com.aurionpro.bank.repo.CustomerRepo;
+import com.aurionpro.bank.repo.DocumentRepo;
+import com.aurionpro.bank.security.CustomerContext;
+import com.aurionpro.bank.storage.DocumentUploadProcessor;
+
+class ChunkedUploadServiceImplTest {
+
+    private static final int CHUNK_SIZE = 4;
+
+    @TempDir
+    Path chunkDir;
+
+    private CustomerContext customerContext;
+    private ChunkedUploadServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        customerContext = mock(CustomerContext.class);
+        when(customerContext.getCustomerId()).thenReturn(7);
+        service = new ChunkedUploadServiceImpl(mock(CustomerRepo.class), mock(DocumentRepo.class),
+                mock(DocumentUploadProcessor.class), customerContext, chunkDir.toString(), CHUNK_SIZE, 1024, 60, 2);
+    }
+
+    @Test
+    void customerCannotOpenMoreThanTheCap() {
+        service.initiateUpload(7, DocumentType.ID_CARD, "image/png", 8);
+        service.initiateUpload(7, DocumentType.ID_CARD, "image/png", 8);
+
+        assertThrows(DocumentUploadException.class, () -> service.initiateUpload(7, DocumentType.ID_CARD, "image/png", 8));
+        // Another customer has its own allowance
+        service.initiateUpload(8, DocumentType.ID_CARD, "image/png", 8);
+    }
+
+    @Test
+    void completionWaitsForEveryChunk() throws Exception {
+        UploadSessionDto upload = service.initiateUpload(7, DocumentType.ID_CARD, "image/png", 8);
+        byte[] chunk = { 1, 2, 3, 4 };
+        service.uploadChunk(upload.getUploadId(), 0, sha256(chunk), new ByteArrayInputStream(chunk));
+
+        DocumentUploadException e = assertThrows(DocumentUploadException.class,
+                () -> service.completeUpload(upload.getUploadId()));
+        assertEquals("Upload is missing 1 chunks", e.getMessage());
+    }
+
+    @Test
+    void failedChunkIsNotCounted() throws Exception {
+        UploadSessionDto upload = service.initiateUpload(7, DocumentType.ID_CARD, "image/png", 8);
+        byte[] chunk = { 1, 2, 3, 4 };
+
+        assertThrows(DocumentUploadException.class,
+                () -> service.uploadChunk(upload.getUploadId(), 1, sha256(new byte[4]), new ByteArrayInputStream(chunk)));
+        assertEquals(0, service.getUploadStatus(upload.getUploadId()).getReceivedChunks());
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
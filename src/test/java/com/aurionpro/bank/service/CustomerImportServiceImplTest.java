@@ -0,0 +1,83 @@
+package com.aurionpro.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.aurionpro.bank.dto.CustomerDto;
+
+class CustomerImportServiceImplTest {
+
+    private record Row(long rowNumber, CustomerDto customer, String error) {
+    }
+
+    private static List<Row> readCsv(String csv) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        CustomerImportServiceImpl.readCsv(new StringReader(csv),
+                (rowNumber, customerDto, parseError) -> rows.add(new Row(rowNumber, customerDto, parseError)));
+        return rows;
+    }
+
+    @Test
+    void skipsHeaderAndBlankLines() throws IOException {
+        List<Row> rows = readCsv("firstName,lastName,email,dateOfBirth\n"
+                + "\n"
+                + "John,Smith,john@bank.com,1990-01-01\n"
+                + "   \n"
+                + "Jane,Doe,jane@bank.com,1991-02-03\n");
+
+        assertEquals(2, rows.size());
+        assertEquals(3, rows.get(0).rowNumber());
+        assertEquals("john@bank.com", rows.get(0).customer().getEmail());
+        assertEquals(LocalDate.of(1990, 1, 1), rows.get(0).customer().getDateOfBirth());
+        assertEquals(5, rows.get(1).rowNumber());
+    }
+
+    @Test
+    void readsQuotedFieldsWithCommasAndQuotes() throws IOException {
+        List<Row> rows = readCsv("\"Mary, Ann\",\"O\"\"Brien\",mary@bank.com,1985-12-31\n");
+
+        assertEquals(1, rows.size());
+        assertNull(rows.get(0).error());
+        assertEquals("Mary, Ann", rows.get(0).customer().getFirstName());
+        assertEquals("O\"Brien", rows.get(0).customer().getLastName());
+    }
+
+    @Test
+    void numbersRowsByTheLineTheyStartOn() throws IOException {
+        List<Row> rows = readCsv("John,\"Smith\nJunior\",john@bank.com,1990-01-01\n"
+                + "Jane,Doe,jane@bank.com,1991-02-03\n");
+
+        assertEquals(2, rows.size());
+        assertEquals("Smith\nJunior", rows.get(0).customer().getLastName());
+        assertEquals(1, rows.get(0).rowNumber());
+        assertEquals(3, rows.get(1).rowNumber());
+    }
+
+    @Test
+    void reportsMalformedRowsAndCarriesOn() throws IOException {
+        List<Row> rows = readCsv("John,Smith,john@bank.com\n"
+                + "Jane,Doe,jane@bank.com,not-a-date\n"
+                + "Ann,Lee,ann@bank.com,1992-03-04\n");
+
+        assertEquals(3, rows.size());
+        assertEquals("Unable to parse row: expected 4 columns, found 3", rows.get(0).error());
+        assertTrue(rows.get(1).error().startsWith("Unable to parse row: "));
+        assertNull(rows.get(1).customer());
+        assertEquals("ann@bank.com", rows.get(2).customer().getEmail());
+    }
+
+    @Test
+    void unterminatedQuoteAbortsTheFile() {
+        assertThrows(IOException.class, () -> readCsv("John,\"Smith,john@bank.com,1990-01-01\n"));
+    }
+}
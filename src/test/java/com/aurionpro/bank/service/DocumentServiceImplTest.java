@@ -0,0 +1,57 @@
+package com.aurionpro.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.aurionpro.bank.dto.DocumentDedupStats;
+import com.aurionpro.bank.repo.DocumentRepo;
+import com.aurionpro.bank.storage.DocumentCache;
+import com.aurionpro.bank.storage.DocumentStorage;
+
+class DocumentServiceImplTest {
+
+    private DocumentRepo documentRepo;
+    private DocumentServiceImpl documentService;
+
+    @BeforeEach
+    void setUp() {
+        documentRepo = mock(DocumentRepo.class);
+        documentService = new DocumentServiceImpl(documentRepo, mock(DocumentStorage.class), mock(DocumentCache.class));
+    }
+
+    @Test
+    void dedupStatsCompareStoredSizesAndReportNormalizationApart() {
+        // Three documents share one 1000 byte image with a 100 byte thumbnail, uploaded as 5000 bytes each
+        List<Object[]> summary = Collections.singletonList(new Object[] { 3L, 1L, 3_300L, 12_000L });
+        when(documentRepo.summarizeStoredDocuments()).thenReturn(summary);
+        when(documentRepo.sumStoredBlobBytes()).thenReturn(1_100L);
+
+        DocumentDedupStats stats = documentService.getDedupStats();
+
+        assertEquals(3, stats.getDocuments());
+        assertEquals(1, stats.getUniqueBlobs());
+        assertEquals(3_300, stats.getReferencedBytes());
+        assertEquals(1_100, stats.getStoredBytes());
+        assertEquals(2_200, stats.getBytesSaved());
+        assertEquals(3.0, stats.getDedupRatio());
+        assertEquals(12_000, stats.getNormalizationBytesSaved());
+    }
+
+    @Test
+    void dedupStatsWithNoDocuments() {
+        when(documentRepo.summarizeStoredDocuments()).thenReturn(List.of());
+
+        DocumentDedupStats stats = documentService.getDedupStats();
+
+        assertEquals(0, stats.getBytesSaved());
+        assertEquals(1.0, stats.getDedupRatio());
+        assertEquals(0, stats.getNormalizationBytesSaved());
+    }
+}
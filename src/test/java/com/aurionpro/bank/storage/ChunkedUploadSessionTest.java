@@ -0,0 +1,60 @@
+package com.aurionpro.bank.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import com.aurionpro.bank.enums.DocumentType;
+import com.aurionpro.bank.storage.ChunkedUploadSession.ChunkStart;
+
+class ChunkedUploadSessionTest {
+
+    private final ChunkedUploadSession session = new ChunkedUploadSession("upload", 7, DocumentType.ID_CARD,
+            "image/png", 8, 4, Path.of("upload.part"));
+
+    @Test
+    void completionIsRefusedWhileAChunkIsBeingWritten() {
+        session.beginChunk(0);
+        session.endChunk(0, true);
+        session.beginChunk(1);
+        session.endChunk(1, true);
+        // A client re-sends chunk 1 while also asking to complete
+        assertEquals(ChunkStart.STARTED, session.beginChunk(1));
+
+        assertFalse(session.beginCompletion());
+        session.endChunk(1, true);
+        assertTrue(session.beginCompletion());
+    }
+
+    @Test
+    void chunksAreRefusedOnceCompletionStarted() {
+        session.beginChunk(0);
+        session.endChunk(0, true);
+        session.beginChunk(1);
+        session.endChunk(1, true);
+        assertTrue(session.beginCompletion());
+
+        assertEquals(ChunkStart.COMPLETING, session.beginChunk(0));
+        assertFalse(session.beginCompletion());
+
+        session.cancelCompletion();
+        assertEquals(ChunkStart.STARTED, session.beginChunk(0));
+    }
+
+    @Test
+    void sameChunkIsRefusedWhileItIsBeingWritten() {
+        assertEquals(ChunkStart.STARTED, session.beginChunk(0));
+
+        assertEquals(ChunkStart.ALREADY_IN_FLIGHT, session.beginChunk(0));
+        // Other chunks are unaffected
+        assertEquals(ChunkStart.STARTED, session.beginChunk(1));
+        assertEquals(2, session.chunksInFlight());
+
+        session.endChunk(0, false);
+        assertEquals(ChunkStart.STARTED, session.beginChunk(0));
+    }
+}
@@ -0,0 +1,143 @@
+package com.aurionpro.bank.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DocumentCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void servedFileIsNotEvictedUntilReleased() throws IOException {
+        DocumentCache cache = new DocumentCache(cacheDir.toString(), 150);
+        DocumentStorage storage = fixedStorage(100, new AtomicInteger());
+
+        DocumentCache.Lease first = cache.get("https://example.com/a", storage);
+        // Loading b pushes the cache over budget while a is still being served
+        try (DocumentCache.Lease second = cache.get("https://example.com/b", storage)) {
+            assertTrue(Files.exists(first.getPath()));
+            assertTrue(Files.exists(second.getPath()));
+            assertEquals(200, cache.getUsedBytes());
+        }
+        // b was released first and is the only unpinned entry, so it goes
+        assertEquals(1, cache.getEvictions());
+
+        Path firstPath = first.getPath();
+        first.close();
+        assertTrue(Files.exists(firstPath));
+        assertEquals(100, cache.getUsedBytes());
+    }
+
+    @Test
+    void waiterRetriesWhenSharedDownloadFails() throws Exception {
+        DocumentCache cache = new DocumentCache(cacheDir.toString(), 1 << 20);
+        CountDownLatch downloading = new CountDownLatch(1);
+        CountDownLatch waiterQueued = new CountDownLatch(1);
+        AtomicInteger opens = new AtomicInteger();
+        DocumentStorage storage = new DocumentStorage() {
+            @Override
+            public String store(String key, InputStream content, long size) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public InputStream open(String location) throws IOException {
+                if (opens.incrementAndGet() == 1) {
+                    downloading.countDown();
+                    try {
+                        waiterQueued.await(5, TimeUnit.SECONDS);
+                        // Give the waiter time to block on the shared download
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IOException("connection reset");
+                }
+                return new ByteArrayInputStream(new byte[] { 1, 2, 3 });
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> leader = executor.submit(() -> cache.get("https://example.com/doc", storage));
+            downloading.await(5, TimeUnit.SECONDS);
+            Future<byte[]> waiter = executor.submit(() -> {
+                waiterQueued.countDown();
+                try (DocumentCache.Lease lease = cache.get("https://example.com/doc", storage)) {
+                    return Files.readAllBytes(lease.getPath());
+                }
+            });
+
+            Exception leaderFailure = assertThrows(Exception.class, leader::get);
+            assertTrue(leaderFailure.getCause() instanceof IOException);
+            assertArrayEquals(new byte[] { 1, 2, 3 }, waiter.get(5, TimeUnit.SECONDS));
+            assertEquals(2, opens.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentMissesShareOneDownload() throws Exception {
+        DocumentCache cache = new DocumentCache(cacheDir.toString(), 1 << 20);
+        AtomicInteger opens = new AtomicInteger();
+        DocumentStorage storage = fixedStorage(4096, opens);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?>[] reads = new Future<?>[4];
+            for (int i = 0; i < reads.length; i++) {
+                reads[i] = executor.submit(() -> {
+                    start.await();
+                    try (DocumentCache.Lease lease = cache.get("https://example.com/shared", storage)) {
+                        return Files.size(lease.getPath());
+                    }
+                });
+            }
+            start.countDown();
+            for (Future<?> read : reads) {
+                assertEquals(4096L, read.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // Later callers may arrive after the download and hit the cache, but none downloads it again
+        assertEquals(1, opens.get());
+        assertFalse(Files.exists(cacheDir.resolve("shared.part")));
+    }
+
+    private static DocumentStorage fixedStorage(int size, AtomicInteger opens) {
+        return new DocumentStorage() {
+            @Override
+            public String store(String key, InputStream content, long length) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public InputStream open(String location) {
+                opens.incrementAndGet();
+                return new ByteArrayInputStream(new byte[size]);
+            }
+        };
+    }
+}
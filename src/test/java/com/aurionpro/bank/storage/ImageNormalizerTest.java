@@ -0,0 +1,65 @@
+package com.aurionpro.bank.storage;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImageNormalizerTest {
+
+    @TempDir
+    Path dir;
+
+    private final ImageNormalizer normalizer = new ImageNormalizer(true, 2000, 0.8f, 256, 0.7f, 1);
+
+    @Test
+    void normalizesAValidImage() throws Exception {
+        Path source = dir.resolve("scan");
+        Files.write(source, png(400, 300));
+
+        NormalizedImage normalized = normalizer.normalize(source);
+
+        assertNotNull(normalized);
+        assertTrue(Files.size(normalized.getThumbnail()) > 0);
+    }
+
+    @Test
+    void truncatedImageIsLeftAsUploaded() throws Exception {
+        byte[] png = png(400, 300);
+        Path source = dir.resolve("scan");
+        // Keep the signature and header so a reader is found, then cut the pixel data short
+        Files.write(source, Arrays.copyOf(png, 40));
+
+        assertNull(normalizer.normalize(source));
+    }
+
+    @Test
+    void corruptImageDataIsLeftAsUploaded() throws Exception {
+        byte[] png = png(400, 300);
+        Arrays.fill(png, 40, png.length - 12, (byte) 0x5a);
+        Path source = dir.resolve("scan");
+        Files.write(source, png);
+
+        assertNull(normalizer.normalize(source));
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, x % height, 0xff0000 + x);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
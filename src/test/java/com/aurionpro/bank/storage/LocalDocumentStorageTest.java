@@ -0,0 +1,58 @@
+package com.aurionpro.bank.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalDocumentStorageTest {
+
+    @TempDir
+    Path baseDir;
+
+    @Test
+    void concurrentUploadsOfTheSameContentAllSucceed() throws Exception {
+        LocalDocumentStorage storage = new LocalDocumentStorage(baseDir.toString());
+        byte[] content = new byte[256 * 1024];
+        new Random(42).nextBytes(content);
+        String key = "abcdef0123456789";
+
+        int uploads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(uploads);
+        try {
+            List<Future<String>> locations = new ArrayList<>();
+            for (int i = 0; i < uploads; i++) {
+                locations.add(executor.submit(() -> {
+                    start.await();
+                    return storage.store(key, new ByteArrayInputStream(content), content.length);
+                }));
+            }
+            start.countDown();
+            for (Future<String> location : locations) {
+                assertEquals("ab/cd/" + key, location.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertArrayEquals(content, Files.readAllBytes(baseDir.resolve("ab/cd/" + key)));
+        try (Stream<Path> files = Files.list(baseDir.resolve("ab/cd"))) {
+            // No temp files are left behind
+            assertEquals(1, files.count());
+        }
+    }
+}